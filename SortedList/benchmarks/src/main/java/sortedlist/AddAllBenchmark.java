@@ -0,0 +1,58 @@
+package sortedlist;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Bulk loading of {@code size} random elements, both through the
+ * Collection constructor and through addAll() into a list that
+ * already holds {@code size} elements
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AddAllBenchmark
+{
+	@Param({ "10", "1000", "100000", "10000000" })
+	int size;
+	
+	private List<Integer> input;
+	private SortedList<Integer> existing;
+	
+	@Setup
+	public void setup()
+	{
+		input = Arrays.asList(Inputs.random(size, 42));
+		existing = Inputs.filledList(size, 7);
+	}
+	
+	@Benchmark
+	public SortedList<Integer> construct()
+	{
+		return new SortedList<>(input);
+	}
+	
+	@Benchmark
+	public SortedList<Integer> addAll()
+	{
+		SortedList<Integer> list = new SortedList<>(existing);
+		list.addAll(input);
+		return list;
+	}
+}
@@ -0,0 +1,96 @@
+package sortedlist;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Single-element add() into a SortedList holding {@code size} elements.
+ * Whenever the list has doubled in size it is trimmed back with one
+ * removeRange(), so the cost stays that of inserting into a list of
+ * roughly {@code size} elements
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AddBenchmark
+{
+	@Param({ "10", "1000", "100000", "10000000" })
+	int size;
+	
+	/**
+	 * RANDOM: uniformly random values; ASCENDING: every value is
+	 * the new maximum; DESCENDING: every value is the new minimum;
+	 * DUPLICATES: values from a small range, mostly equal to ones
+	 * already in the list
+	 */
+	@Param({ "RANDOM", "ASCENDING", "DESCENDING", "DUPLICATES" })
+	String distribution;
+	
+	/**
+	 * Capacity of the insertion buffer (see SortedList.setInsertBuffer()); 
+	 * 0 inserts every element directly
+	 */
+	@Param({ "0", "1024" })
+	int buffer;
+	
+	private SortedList<Integer> list;
+	private Random rng;
+	private int next;
+	
+	@Setup
+	public void setup()
+	{
+		rng = new Random(42);
+		Integer[] initial = new Integer[size];
+		for(int i = 0; i < size; i++)
+			initial[i] = nextValue();
+		list = new SortedList<>(true, 2 * size + 1);
+		list.addAll(Arrays.asList(initial));
+		list.setInsertBuffer(buffer);
+	}
+	
+	private Integer nextValue()
+	{
+		switch(distribution)
+		{
+			case "ASCENDING":
+				return next++;
+			case "DESCENDING":
+				return next--;
+			case "DUPLICATES":
+				return rng.nextInt(Inputs.DUPLICATE_RANGE);
+			default:
+				return rng.nextInt();
+		}
+	}
+	
+	@Benchmark
+	public boolean add()
+	{
+		if(list.size() >= 2 * size)
+		{
+			// drop the oldest half: the head for ascending input, the tail for descending
+			if(distribution.equals("DESCENDING"))
+				list.removeRange(size, list.size());
+			else
+				list.removeRange(0, list.size() - size);
+		}
+		return list.add(nextValue());
+	}
+}
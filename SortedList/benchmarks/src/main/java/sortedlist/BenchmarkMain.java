@@ -0,0 +1,36 @@
+package sortedlist;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar. Takes the usual JMH command
+ * line options, but writes results as JSON to jmh-result.json
+ * unless told otherwise, so runs of different releases can be
+ * compared for regressions
+ */
+public class BenchmarkMain
+{
+	public static void main(String[] args) throws Exception
+	{
+		CommandLineOptions cli = new CommandLineOptions(args);
+		if(cli.shouldHelp())
+		{
+			cli.showHelp();
+			return;
+		}
+		OptionsBuilder options = new OptionsBuilder();
+		options.parent(cli);
+		if(!cli.getResultFormat().hasValue())
+			options.resultFormat(ResultFormatType.JSON);
+		if(!cli.getResult().hasValue())
+			options.result("jmh-result.json");
+		Runner runner = new Runner(options.build());
+		if(cli.shouldList())
+			runner.list();
+		else
+			runner.run();
+	}
+}
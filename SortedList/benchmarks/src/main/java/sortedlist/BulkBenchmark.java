@@ -0,0 +1,93 @@
+package sortedlist;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Whole-list operations on a SortedList holding {@code size}
+ * random elements: iteration, copying, hashing, printing and
+ * a serialization round trip
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BulkBenchmark
+{
+	@Param({ "10", "1000", "100000", "10000000" })
+	int size;
+	
+	private SortedList<Integer> list;
+	private byte[] serialized;
+	
+	@Setup
+	public void setup() throws IOException
+	{
+		list = Inputs.filledList(size, 42);
+		serialized = serialize();
+	}
+	
+	@Benchmark
+	public void iterate(Blackhole bh)
+	{
+		for(Integer e : list)
+			bh.consume(e);
+	}
+	
+	@Benchmark
+	public Object[] toArray()
+	{
+		return list.toArray();
+	}
+	
+	@Benchmark
+	public int hashCodeOf()
+	{
+		return list.hashCode();
+	}
+	
+	@Benchmark
+	public String toStringOf()
+	{
+		return list.toString();
+	}
+	
+	@Benchmark
+	public byte[] serialize() throws IOException
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(ObjectOutputStream out = new ObjectOutputStream(bytes))
+		{
+			out.writeObject(list);
+		}
+		return bytes.toByteArray();
+	}
+	
+	@Benchmark
+	public Object deserialize() throws IOException, ClassNotFoundException
+	{
+		try(ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized)))
+		{
+			return in.readObject();
+		}
+	}
+}
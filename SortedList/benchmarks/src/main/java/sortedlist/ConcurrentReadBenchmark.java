@@ -0,0 +1,105 @@
+package sortedlist;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Read throughput of ConcurrentSortedList against a SortedList wrapped
+ * in Collections.synchronizedCollection(). contains() runs on every
+ * available core, so the scores show how reads scale; the mixed group
+ * adds one writer to three readers
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ConcurrentReadBenchmark
+{
+	private static final int PROBES = 1 << 12;
+	
+	@Param({ "1000", "1000000" })
+	int size;
+	
+	/**
+	 * STAMPED: ConcurrentSortedList; SYNCHRONIZED: a SortedList
+	 * behind a single monitor
+	 */
+	@Param({ "STAMPED", "SYNCHRONIZED" })
+	String implementation;
+	
+	private Collection<Integer> list;
+	private Integer[] probes;
+	
+	@Setup
+	public void setup()
+	{
+		Integer[] values = Inputs.random(size, 42);
+		list = implementation.equals("STAMPED")
+				? new ConcurrentSortedList<>(Arrays.asList(values))
+				: Collections.synchronizedCollection(new SortedList<>(Arrays.asList(values)));
+		Random rng = new Random(7);
+		probes = new Integer[PROBES];
+		for(int i = 0; i < PROBES; i++)
+			probes[i] = (i % 2 == 0) ? values[rng.nextInt(size)] : rng.nextInt();
+	}
+	
+	/**
+	 * Per-thread position in the probe array
+	 */
+	@State(Scope.Thread)
+	public static class Cursor
+	{
+		int next = new Random().nextInt(PROBES);
+		
+		Integer advance(Integer[] probes)
+		{
+			next = (next + 1) & (PROBES - 1);
+			return probes[next];
+		}
+	}
+	
+	@Benchmark
+	@Threads(Threads.MAX)
+	public boolean contains(Cursor cursor)
+	{
+		return list.contains(cursor.advance(probes));
+	}
+	
+	@Benchmark
+	@Group("mixed")
+	@GroupThreads(3)
+	public boolean mixedRead(Cursor cursor)
+	{
+		return list.contains(cursor.advance(probes));
+	}
+	
+	@Benchmark
+	@Group("mixed")
+	@GroupThreads(1)
+	public boolean mixedWrite(Cursor cursor)
+	{
+		Integer e = cursor.advance(probes);
+		list.add(e);
+		return list.remove(e);
+	}
+}
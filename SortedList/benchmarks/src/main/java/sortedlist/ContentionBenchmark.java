@@ -0,0 +1,92 @@
+package sortedlist;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Write throughput under contention: every available core adds and
+ * removes random values. Compares SkipListSortedList against the 
+ * array-backed SortedList, both behind a single monitor and as a
+ * ConcurrentSortedList
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ContentionBenchmark
+{
+	private static final int VALUES = 1 << 12;
+	
+	@Param({ "1000", "1000000" })
+	int size;
+	
+	/**
+	 * SKIPLIST: SkipListSortedList; STAMPED: ConcurrentSortedList;
+	 * SYNCHRONIZED: a SortedList behind a single monitor
+	 */
+	@Param({ "SKIPLIST", "STAMPED", "SYNCHRONIZED" })
+	String implementation;
+	
+	private Collection<Integer> list;
+	private Integer[] values;
+	
+	@Setup
+	public void setup()
+	{
+		Collection<Integer> initial = Arrays.asList(Inputs.random(size, 42));
+		switch(implementation)
+		{
+			case "SKIPLIST":
+				list = new SkipListSortedList<>(initial);
+				break;
+			case "STAMPED":
+				list = new ConcurrentSortedList<>(initial);
+				break;
+			default:
+				list = Collections.synchronizedCollection(new SortedList<>(initial));
+		}
+		values = Inputs.random(VALUES, 7);
+	}
+	
+	/**
+	 * Per-thread position in the value array
+	 */
+	@State(Scope.Thread)
+	public static class Cursor
+	{
+		int next = new Random().nextInt(VALUES);
+		
+		Integer advance(Integer[] values)
+		{
+			next = (next + 1) & (VALUES - 1);
+			return values[next];
+		}
+	}
+	
+	@Benchmark
+	@Threads(Threads.MAX)
+	public boolean addRemove(Cursor cursor)
+	{
+		Integer e = cursor.advance(values);
+		list.add(e);
+		return list.remove(e);
+	}
+}
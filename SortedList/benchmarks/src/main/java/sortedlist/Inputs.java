@@ -0,0 +1,52 @@
+package sortedlist;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Input generation shared by the benchmarks. All inputs
+ * are drawn from fixed seeds so runs are comparable
+ */
+final class Inputs
+{
+	/**
+	 * Values of DUPLICATES inputs are drawn from [0, DUPLICATE_RANGE)
+	 */
+	static final int DUPLICATE_RANGE = 16;
+	
+	private Inputs()
+	{
+	}
+	
+	/**
+	 * Creates an array of random values
+	 * @param count
+	 * The number of values
+	 * @param seed
+	 * The seed of the random number generator
+	 * @return
+	 * The random values
+	 */
+	static Integer[] random(int count, long seed)
+	{
+		Random rng = new Random(seed);
+		Integer[] values = new Integer[count];
+		for(int i = 0; i < count; i++)
+			values[i] = rng.nextInt();
+		return values;
+	}
+	
+	/**
+	 * Creates a SortedList holding random values
+	 * @param count
+	 * The number of values
+	 * @param seed
+	 * The seed of the random number generator
+	 * @return
+	 * The filled SortedList
+	 */
+	static SortedList<Integer> filledList(int count, long seed)
+	{
+		return new SortedList<>(Arrays.asList(random(count, seed)));
+	}
+}
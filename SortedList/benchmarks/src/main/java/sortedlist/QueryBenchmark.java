@@ -0,0 +1,81 @@
+package sortedlist;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Read-only single-element operations on a SortedList holding
+ * {@code size} random elements. Probes for contains() are half 
+ * elements of the list and half random values
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class QueryBenchmark
+{
+	private static final int PROBES = 1 << 12;
+	
+	@Param({ "10", "1000", "100000", "10000000" })
+	int size;
+	
+	private SortedList<Integer> list;
+	private Integer[] probes;
+	private int[] indexes;
+	private int next;
+	
+	@Setup
+	public void setup()
+	{
+		list = Inputs.filledList(size, 42);
+		Random rng = new Random(7);
+		Integer[] misses = Inputs.random(PROBES, 11);
+		probes = new Integer[PROBES];
+		indexes = new int[PROBES];
+		for(int i = 0; i < PROBES; i++)
+		{
+			indexes[i] = rng.nextInt(size);
+			probes[i] = (i % 2 == 0) ? list.get(indexes[i]) : misses[i];
+		}
+	}
+	
+	@Benchmark
+	public boolean contains()
+	{
+		next = (next + 1) & (PROBES - 1);
+		return list.contains(probes[next]);
+	}
+	
+	@Benchmark
+	public Integer get()
+	{
+		next = (next + 1) & (PROBES - 1);
+		return list.get(indexes[next]);
+	}
+	
+	@Benchmark
+	public Integer getMin()
+	{
+		return list.getMin();
+	}
+	
+	@Benchmark
+	public Integer getMax()
+	{
+		return list.getMax();
+	}
+}
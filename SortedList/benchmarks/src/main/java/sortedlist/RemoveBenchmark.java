@@ -0,0 +1,59 @@
+package sortedlist;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * remove(Object) of an element of a SortedList holding {@code size}
+ * random elements. The element is added back after each removal so
+ * the list keeps its size; the cost of that add() is included
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RemoveBenchmark
+{
+	private static final int PROBES = 1 << 12;
+	
+	@Param({ "10", "1000", "100000", "10000000" })
+	int size;
+	
+	private SortedList<Integer> list;
+	private Integer[] probes;
+	private int next;
+	
+	@Setup
+	public void setup()
+	{
+		list = Inputs.filledList(size, 42);
+		Random rng = new Random(7);
+		probes = new Integer[PROBES];
+		for(int i = 0; i < PROBES; i++)
+			probes[i] = list.get(rng.nextInt(size));
+	}
+	
+	@Benchmark
+	public boolean removeAndReAdd()
+	{
+		next = (next + 1) & (PROBES - 1);
+		Integer e = probes[next];
+		boolean removed = list.remove(e);
+		list.add(e);
+		return removed;
+	}
+}
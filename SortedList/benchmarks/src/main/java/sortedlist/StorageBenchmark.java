@@ -0,0 +1,100 @@
+package sortedlist;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the storage layouts of sorted lists holding {@code size}
+ * random elements: remove(Object) followed by add() of the same element,
+ * which shifts elements in the middle of the list, and get(int)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StorageBenchmark
+{
+	private static final int PROBES = 1 << 12;
+	
+	@Param({ "10", "1000", "100000", "10000000" })
+	int size;
+	
+	/**
+	 * ARRAY: SortedList; BLOCKED: BlockedSortedList;
+	 * TREE: TreeSortedList
+	 */
+	@Param({ "ARRAY", "BLOCKED", "TREE" })
+	String storage;
+	
+	private Collection<Integer> list;
+	private IntFunction<Integer> get;
+	private Integer[] probes;
+	private int[] indices;
+	private int next;
+	
+	@Setup
+	public void setup()
+	{
+		List<Integer> initial = Arrays.asList(Inputs.random(size, 42));
+		switch(storage)
+		{
+			case "BLOCKED":
+				BlockedSortedList<Integer> blocked = new BlockedSortedList<>(initial);
+				list = blocked;
+				get = blocked::get;
+				break;
+			case "TREE":
+				TreeSortedList<Integer> tree = new TreeSortedList<>(initial);
+				list = tree;
+				get = tree::get;
+				break;
+			default:
+				SortedList<Integer> array = new SortedList<>(initial);
+				list = array;
+				get = array::get;
+		}
+		Random rng = new Random(7);
+		probes = new Integer[PROBES];
+		indices = new int[PROBES];
+		for(int i = 0; i < PROBES; i++)
+		{
+			probes[i] = initial.get(rng.nextInt(size));
+			indices[i] = rng.nextInt(size);
+		}
+	}
+	
+	@Benchmark
+	public boolean removeAndReAdd()
+	{
+		next = (next + 1) & (PROBES - 1);
+		Integer e = probes[next];
+		boolean removed = list.remove(e);
+		list.add(e);
+		return removed;
+	}
+	
+	@Benchmark
+	public Integer get()
+	{
+		next = (next + 1) & (PROBES - 1);
+		return get.apply(indices[next]);
+	}
+}
@@ -0,0 +1,50 @@
+package sortedlist;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * add() of random values into a full SortedList bounded to the
+ * {@code size} largest elements. As the stream goes on, most values
+ * fall below the minimum and are rejected without a search
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TopKBenchmark
+{
+	@Param({ "10", "1000", "100000" })
+	int size;
+	
+	private SortedList<Integer> list;
+	private Random rng;
+	
+	@Setup
+	public void setup()
+	{
+		list = Inputs.filledList(size, 42);
+		list.setBound(size, true);
+		rng = new Random(7);
+	}
+	
+	@Benchmark
+	public boolean add()
+	{
+		return list.add(rng.nextInt());
+	}
+}
@@ -0,0 +1,735 @@
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * ************************************************************************
+ *
+ * <p> A sorted list stored as a sequence of small sorted blocks instead
+ * of one flat array. Inserting or removing an element shifts elements
+ * within a single block and updates the block index, so both take
+ * O(b + n/b) time for blocks of capacity b, rather than the O(n) shift
+ * of a SortedList; with b near the square root of n this is O(&radic;n).
+ *
+ * <p> get(int) finds the block of an index by binary search over the
+ * block offsets, in O(log(n/b)) time. getMin() and getMax() read the
+ * ends of the first and last block in O(1) time, and searches are
+ * O(log n).
+ *
+ * <p> Blocks split in half when they overflow and are merged with a
+ * neighbour when both together fill at most half a block, so the
+ * layout stays compact as the list grows and drains.
+ *
+ * @author Gabriel Toro
+ *
+ * @see SortedList
+ *
+ * @param <T>
+ * The generic type of the list; <strong> MUST implement Comparable </strong>
+ * for sorting to function properly unless a Comparator is given
+ *
+ * ************************************************************************
+ */
+public class BlockedSortedList<T> implements Collection<T>, Serializable
+{
+	/**
+	 * ID for verification during serialization
+	 */
+	private static final long serialVersionUID = -5247700381952766314L;
+	
+	/**
+	 * Default number of elements per block
+	 */
+	public static final int DEFAULT_BLOCK_CAPACITY = 512;
+	
+	/**
+	 * Largest number of elements a BlockedSortedList can hold
+	 */
+	private static final int MAX_ELEMENTS = SortedList.MAX_CAPACITY;
+	
+	/**
+	 * The blocks of the list; blocks[0 .. blockCount) are in use,
+	 * and each holds its elements sorted from index 0
+	 */
+	private T[][] blocks;
+	
+	/**
+	 * Number of elements in each block
+	 */
+	private int[] blockSizes;
+	
+	/**
+	 * Index in the list of the first element of each block
+	 */
+	private int[] offsets;
+	
+	/**
+	 * Number of blocks in use
+	 */
+	private int blockCount;
+	
+	/**
+	 * Maximum number of elements per block
+	 */
+	private final int blockCapacity;
+	
+	/**
+	 * The size of this BlockedSortedList - the total count of
+	 * elements over all blocks
+	 */
+	private int size;
+	
+	/**
+	 * Stores whether or not this BlockedSortedList is sorted in
+	 * ascending (true) or descending (false) order
+	 */
+	private final boolean ascending;
+	
+	/**
+	 * The Comparator the elements of the list are sorted by,
+	 * already reversed if the list is descending
+	 */
+	private final Comparator<? super T> comparator;
+	
+	/**
+	 * Number of structural modifications, used by iterators
+	 * to detect concurrent modification
+	 */
+	private transient int modCount;
+	
+	/**
+	 * Default constructor; creates a BlockedSortedList
+	 * with ascending order
+	 */
+	public BlockedSortedList()
+	{
+		this(null, true, DEFAULT_BLOCK_CAPACITY);
+	}
+	
+	/**
+	 * Creates a BlockedSortedList with a given order
+	 * @param ascendingOrder
+	 * The desired order for the list:
+	 * ascending order if true, descending if false
+	 */
+	public BlockedSortedList(boolean ascendingOrder)
+	{
+		this(null, ascendingOrder, DEFAULT_BLOCK_CAPACITY);
+	}
+	
+	/**
+	 * Creates a BlockedSortedList in ascending order
+	 * from a given Collection
+	 * @param c
+	 * The Collection to create the list from
+	 */
+	public BlockedSortedList(Collection<? extends T> c)
+	{
+		this(null, true, DEFAULT_BLOCK_CAPACITY);
+		addAll(c);
+	}
+	
+	/**
+	 * Creates a BlockedSortedList with a given ordering and block capacity
+	 * @param comparator
+	 * The Comparator defining the ascending order of elements,
+	 * or null to use their natural ordering
+	 * @param ascendingOrder
+	 * The desired order for the list:
+	 * ascending order if true, descending if false
+	 * @param blockCapacity
+	 * The maximum number of elements per block; around the square
+	 * root of the expected size gives the cheapest inserts
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public BlockedSortedList(Comparator<? super T> comparator, boolean ascendingOrder, int blockCapacity)
+	{
+		if(blockCapacity < 2)
+			throw new IllegalArgumentException("Block capacity must be at least 2: " + blockCapacity);
+		Comparator<? super T> order = (comparator != null) ? comparator : (Comparator) Comparator.naturalOrder();
+		this.comparator = ascendingOrder ? order : order.reversed();
+		this.ascending = ascendingOrder;
+		this.blockCapacity = blockCapacity;
+		reset(1);
+	}
+	
+	/**
+	 * Empties the list, leaving room for a given number of blocks
+	 * @param blockSlots
+	 * The initial length of the block arrays
+	 */
+	@SuppressWarnings("unchecked")
+	private void reset(int blockSlots)
+	{
+		blocks = (T[][]) new Object[blockSlots][];
+		blockSizes = new int[blockSlots];
+		offsets = new int[blockSlots];
+		blockCount = 0;
+		size = 0;
+	}
+	
+	/**
+	 * Gets and returns the element in the list at
+	 * a given index. Runs in O(log(n/b)) time
+	 * @param index
+	 * The index to look for the element at
+	 * @return
+	 * The element at the given index
+	 */
+	public T get(int index)
+	{
+		if(index < 0 || index >= size)
+			throw new ArrayIndexOutOfBoundsException(index);
+		int block = blockOf(index);
+		return blocks[block][index - offsets[block]];
+	}
+	
+	/**
+	 * Gets the minimum-value element in the list
+	 * @return
+	 * The minimum-value element in the list
+	 */
+	public T getMin()
+	{
+		if(size == 0)
+			throw new IllegalAccessError("There are no elements in the list");
+		return ascending ? first() : last();
+	}
+	
+	/**
+	 * Gets the maximum-value element in the list
+	 * @return
+	 * The maximum-value element in the list
+	 */
+	public T getMax()
+	{
+		if(size == 0)
+			throw new IllegalAccessError("There are no elements in the list");
+		return ascending ? last() : first();
+	}
+	
+	private T first()
+	{
+		return blocks[0][0];
+	}
+	
+	private T last()
+	{
+		int block = blockCount - 1;
+		return blocks[block][blockSizes[block] - 1];
+	}
+	
+	@Override
+	public int size()
+	{
+		return size;
+	}
+	
+	@Override
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+	
+	/**
+	 * Gets whether this BlockedSortedList is sorted in ascending order
+	 * @return
+	 * True if ascending, false if descending
+	 */
+	public boolean isAscending()
+	{
+		return ascending;
+	}
+	
+	/**
+	 * Finds the block holding a given index of the list
+	 * @param index
+	 * An index in [0, size)
+	 * @return
+	 * The last block whose offset is at most index
+	 */
+	private int blockOf(int index)
+	{
+		int low = 0;
+		int high = blockCount - 1;
+		while(low < high)
+		{
+			int mid = (low + high + 1) >>> 1;
+			if(offsets[mid] <= index)
+				low = mid;
+			else
+				high = mid - 1;
+		}
+		return low;
+	}
+	
+	/**
+	 * Finds the first block whose last element is ordered at or after
+	 * (lower) or strictly after (upper) a given element
+	 * @param e
+	 * The element to search for
+	 * @param upper
+	 * Whether elements equal to e are skipped
+	 * @return
+	 * The block, or blockCount if there is none
+	 */
+	private int findBlock(T e, boolean upper)
+	{
+		int low = 0;
+		int high = blockCount;
+		while(low < high)
+		{
+			int mid = (low + high) >>> 1;
+			int c = comparator.compare(blocks[mid][blockSizes[mid] - 1], e);
+			if(c < 0 || (upper && c == 0))
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+	
+	/**
+	 * Binary search within a single block
+	 * @param block
+	 * The block to search
+	 * @param e
+	 * The element to search for
+	 * @param upper
+	 * Whether elements equal to e are skipped
+	 * @return
+	 * The index in the block of the first element ordered at or
+	 * after (lower) or strictly after (upper) e
+	 */
+	private int search(int block, T e, boolean upper)
+	{
+		T[] elements = blocks[block];
+		int low = 0;
+		int high = blockSizes[block];
+		while(low < high)
+		{
+			int mid = (low + high) >>> 1;
+			int c = comparator.compare(elements[mid], e);
+			if(c < 0 || (upper && c == 0))
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+	
+	/**
+	 * Finds the index of the first element in the list that is not
+	 * ordered before a given element, according to the order of
+	 * this list. Runs in O(log n) time
+	 * @param e
+	 * The element to search for
+	 * @return
+	 * The index of the first element ordered at or after e, or
+	 * size() if there is no such element
+	 */
+	public int lowerBound(T e)
+	{
+		int block = findBlock(e, false);
+		return (block == blockCount) ? size : offsets[block] + search(block, e, false);
+	}
+	
+	/**
+	 * Finds the index of the first element in the list that is
+	 * ordered after a given element, according to the order of
+	 * this list. Runs in O(log n) time
+	 * @param e
+	 * The element to search for
+	 * @return
+	 * The index of the first element ordered after e, or
+	 * size() if there is no such element
+	 */
+	public int upperBound(T e)
+	{
+		int block = findBlock(e, true);
+		return (block == blockCount) ? size : offsets[block] + search(block, e, true);
+	}
+	
+	/**
+	 * Adds an element to the list in sorted order, after any
+	 * elements equal to it. Shifts elements of one block only
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean add(T e)
+	{
+		int block;
+		if(blockCount == 0)
+		{
+			blocks[0] = (T[]) new Object[blockCapacity];
+			blockCount = 1;
+			block = 0;
+		}
+		else
+			block = Math.min(findBlock(e, true), blockCount - 1);
+		if(blockSizes[block] == blockCapacity)
+		{
+			split(block);
+			if(comparator.compare(blocks[block + 1][0], e) <= 0)
+				block++;
+		}
+		int index = search(block, e, true);
+		T[] elements = blocks[block];
+		System.arraycopy(elements, index, elements, index + 1, blockSizes[block] - index);
+		elements[index] = e;
+		blockSizes[block]++;
+		for(int i = block + 1; i < blockCount; i++)
+			offsets[i]++;
+		size++;
+		modCount++;
+		return true;
+	}
+	
+	/**
+	 * Adds all elements of a Collection, rebuilding the blocks from a
+	 * single sorted pass instead of inserting one at a time
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean addAll(Collection<? extends T> c)
+	{
+		Object[] added = c.toArray();
+		if(added.length == 0)
+			return false;
+		if(added.length > MAX_ELEMENTS - size)
+			throw new IllegalStateException("Too many elements for a BlockedSortedList");
+		T[] all = (T[]) new Object[size + added.length];
+		copyTo(all);
+		System.arraycopy(added, 0, all, size, added.length);
+		// stable, and the existing elements already form a sorted run
+		Arrays.sort(all, comparator);
+		rebuild(all, all.length);
+		return true;
+	}
+	
+	/**
+	 * Replaces the contents of the list with sorted elements,
+	 * packing them into full blocks
+	 * @param sorted
+	 * The elements, in the order of this list
+	 * @param count
+	 * The number of elements of sorted to use
+	 */
+	@SuppressWarnings("unchecked")
+	private void rebuild(T[] sorted, int count)
+	{
+		int needed = (int) ((count + (long) blockCapacity - 1) / blockCapacity);
+		reset(Math.max(needed, 1));
+		for(int from = 0; from < count; from += blockCapacity)
+		{
+			int n = Math.min(blockCapacity, count - from);
+			T[] elements = (T[]) new Object[blockCapacity];
+			System.arraycopy(sorted, from, elements, 0, n);
+			blocks[blockCount] = elements;
+			blockSizes[blockCount] = n;
+			offsets[blockCount] = from;
+			blockCount++;
+		}
+		size = count;
+		modCount++;
+	}
+	
+	/**
+	 * Splits a full block into two halves
+	 * @param block
+	 * The block to split
+	 */
+	@SuppressWarnings("unchecked")
+	private void split(int block)
+	{
+		if(blockCount == blocks.length)
+		{
+			int capacity = blocks.length * 2;
+			blocks = Arrays.copyOf(blocks, capacity);
+			blockSizes = Arrays.copyOf(blockSizes, capacity);
+			offsets = Arrays.copyOf(offsets, capacity);
+		}
+		int moved = blockCount - block - 1;
+		System.arraycopy(blocks, block + 1, blocks, block + 2, moved);
+		System.arraycopy(blockSizes, block + 1, blockSizes, block + 2, moved);
+		System.arraycopy(offsets, block + 1, offsets, block + 2, moved);
+		
+		int keep = blockSizes[block] / 2;
+		int rest = blockSizes[block] - keep;
+		T[] upper = (T[]) new Object[blockCapacity];
+		System.arraycopy(blocks[block], keep, upper, 0, rest);
+		Arrays.fill(blocks[block], keep, blockSizes[block], null);
+		blockSizes[block] = keep;
+		blocks[block + 1] = upper;
+		blockSizes[block + 1] = rest;
+		offsets[block + 1] = offsets[block] + keep;
+		blockCount++;
+	}
+	
+	/**
+	 * Removes the element at a given position, merging or dropping
+	 * its block if it becomes too small
+	 * @param block
+	 * The block of the element
+	 * @param index
+	 * The index of the element within its block
+	 */
+	private void remove(int block, int index)
+	{
+		T[] elements = blocks[block];
+		int n = --blockSizes[block];
+		System.arraycopy(elements, index + 1, elements, index, n - index);
+		elements[n] = null;
+		for(int i = block + 1; i < blockCount; i++)
+			offsets[i]--;
+		size--;
+		modCount++;
+		
+		if(n == 0)
+			removeBlock(block);
+		else if(block + 1 < blockCount && n + blockSizes[block + 1] <= blockCapacity / 2)
+			merge(block);
+		else if(block > 0 && n + blockSizes[block - 1] <= blockCapacity / 2)
+			merge(block - 1);
+	}
+	
+	/**
+	 * Moves the elements of a block to the end of the block before it
+	 * @param block
+	 * The first of the two blocks to merge
+	 */
+	private void merge(int block)
+	{
+		System.arraycopy(blocks[block + 1], 0, blocks[block], blockSizes[block], blockSizes[block + 1]);
+		blockSizes[block] += blockSizes[block + 1];
+		removeBlock(block + 1);
+	}
+	
+	/**
+	 * Drops a block from the block arrays; its elements must
+	 * already be gone or moved
+	 * @param block
+	 * The block to drop
+	 */
+	private void removeBlock(int block)
+	{
+		int moved = blockCount - block - 1;
+		System.arraycopy(blocks, block + 1, blocks, block, moved);
+		System.arraycopy(blockSizes, block + 1, blockSizes, block, moved);
+		System.arraycopy(offsets, block + 1, offsets, block, moved);
+		blockCount--;
+		blocks[blockCount] = null;
+		blockSizes[blockCount] = 0;
+		// keep an empty first block around for the next add
+		if(blockCount == 0)
+			reset(1);
+	}
+	
+	/**
+	 * Removes the first element equal to the given one.
+	 * Shifts elements of one block only
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean remove(Object o)
+	{
+		T e = (T) o;
+		int block = findBlock(e, false);
+		if(block == blockCount)
+			return false;
+		int index = search(block, e, false);
+		if(comparator.compare(blocks[block][index], e) != 0)
+			return false;
+		remove(block, index);
+		return true;
+	}
+	
+	/**
+	 * Finds the index of the first element equal to a given one
+	 * @param e
+	 * The element to search for
+	 * @return
+	 * The index of the element, or -1 if it is not in the list
+	 */
+	public int indexOf(T e)
+	{
+		int index = lowerBound(e);
+		return (index < size && comparator.compare(get(index), e) == 0) ? index : -1;
+	}
+	
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean contains(Object o)
+	{
+		return indexOf((T) o) != -1;
+	}
+	
+	@Override
+	public boolean containsAll(Collection<?> c)
+	{
+		for(Object o : c)
+		{
+			if(!contains(o))
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Removes every element matching a Predicate in a single
+	 * pass, then repacks the blocks
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean removeIf(Predicate<? super T> filter)
+	{
+		Objects.requireNonNull(filter);
+		T[] kept = (T[]) new Object[size];
+		int count = 0;
+		for(int b = 0; b < blockCount; b++)
+		{
+			for(int i = 0; i < blockSizes[b]; i++)
+			{
+				T e = blocks[b][i];
+				if(!filter.test(e))
+					kept[count++] = e;
+			}
+		}
+		if(count == size)
+			return false;
+		rebuild(kept, count);
+		return true;
+	}
+	
+	@Override
+	public boolean removeAll(Collection<?> c)
+	{
+		Objects.requireNonNull(c);
+		return removeIf(c::contains);
+	}
+	
+	@Override
+	public boolean retainAll(Collection<?> c)
+	{
+		Objects.requireNonNull(c);
+		return removeIf(e -> !c.contains(e));
+	}
+	
+	@Override
+	public void clear()
+	{
+		reset(1);
+		modCount++;
+	}
+	
+	/**
+	 * Copies the elements of the list, in order, to the start of an array
+	 * @param a
+	 * An array with room for size() elements
+	 */
+	private void copyTo(Object[] a)
+	{
+		for(int b = 0; b < blockCount; b++)
+			System.arraycopy(blocks[b], 0, a, offsets[b], blockSizes[b]);
+	}
+	
+	@Override
+	public Object[] toArray()
+	{
+		Object[] a = new Object[size];
+		copyTo(a);
+		return a;
+	}
+	
+	@Override
+	public <A> A[] toArray(A[] a)
+	{
+		if(a.length < size)
+			a = Arrays.copyOf(a, size);
+		copyTo(a);
+		if(a.length > size)
+			a[size] = null;
+		return a;
+	}
+	
+	/**
+	 * Creates a fail-fast Iterator over the list in sorted order;
+	 * remove() is supported
+	 */
+	@Override
+	public Iterator<T> iterator()
+	{
+		return new Iterator<T>()
+		{
+			private int block;
+			private int position;
+			private int cursor;
+			private int lastReturned = -1;
+			private int expectedModCount = modCount;
+			
+			@Override
+			public boolean hasNext()
+			{
+				return cursor < size;
+			}
+			
+			@Override
+			public T next()
+			{
+				if(modCount != expectedModCount)
+					throw new ConcurrentModificationException();
+				if(cursor >= size)
+					throw new NoSuchElementException();
+				if(position == blockSizes[block])
+				{
+					block++;
+					position = 0;
+				}
+				lastReturned = cursor++;
+				return blocks[block][position++];
+			}
+			
+			@Override
+			public void remove()
+			{
+				if(lastReturned < 0)
+					throw new IllegalStateException();
+				if(modCount != expectedModCount)
+					throw new ConcurrentModificationException();
+				BlockedSortedList.this.remove(block, position - 1);
+				cursor = lastReturned;
+				lastReturned = -1;
+				expectedModCount = modCount;
+				// blocks may have merged; find the cursor again
+				if(cursor < size)
+				{
+					block = blockOf(cursor);
+					position = cursor - offsets[block];
+				}
+			}
+		};
+	}
+	
+	@Override
+	public String toString()
+	{
+		StringBuilder info = new StringBuilder((int) Math.min(size * 8L + 2, SortedList.MAX_CAPACITY));
+		info.append('[');
+		for(int b = 0; b < blockCount; b++)
+		{
+			for(int i = 0; i < blockSizes[b]; i++)
+			{
+				if(offsets[b] + i > 0)
+					info.append(", ");
+				info.append(blocks[b][i]);
+			}
+		}
+		return info.append(']').toString();
+	}
+}
@@ -0,0 +1,397 @@
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * ************************************************************************
+ * 
+ * <p> A thread-safe SortedList. Lookups (getMin(), getMax(), get(),
+ * contains() and the range probes) first run optimistically under a 
+ * StampedLock without taking any lock at all, and only fall back to a
+ * shared read lock if a write happened meanwhile, so readers never block
+ * each other. Every modification takes the exclusive write lock.
+ * 
+ * <p> Iterators work on a snapshot of the list taken when they are 
+ * created; they never throw ConcurrentModificationException and do not
+ * see later changes.
+ * 
+ * @author Gabriel Toro
+ * 
+ * @see SortedList
+ * 
+ * @param <T>
+ * The generic type of the list
+ * 
+ * ************************************************************************
+ */
+public class ConcurrentSortedList<T> implements Collection<T>, Serializable
+{
+	/**
+	 * ID for verification during serialization
+	 */
+	private static final long serialVersionUID = -3354718004127645129L;
+	
+	/**
+	 * The SortedList holding the elements; only accessed under lock,
+	 * or optimistically with the stamp validated afterwards. It does
+	 * not track insertion order, which this class never exposes, so
+	 * writes do not also shift an array of sequence numbers
+	 */
+	private final SortedList<T> list;
+	
+	/**
+	 * Lock guarding list
+	 */
+	private final StampedLock lock = new StampedLock();
+	
+	/**
+	 * Default constructor; creates a ConcurrentSortedList
+	 * with ascending order
+	 */
+	public ConcurrentSortedList()
+	{
+		this(true);
+	}
+	
+	/**
+	 * Creates a ConcurrentSortedList with a given order
+	 * @param ascendingOrder
+	 * The desired order for the list:
+	 * ascending order if true, descending if false
+	 */
+	public ConcurrentSortedList(boolean ascendingOrder)
+	{
+		list = new SortedList<>(null, null, ascendingOrder, SortedList.DEFAULT_CAPACITY, false);
+	}
+	
+	/**
+	 * Creates a ConcurrentSortedList ordered by a given Comparator
+	 * @param comparator
+	 * The Comparator defining the ascending order of elements
+	 * @param ascendingOrder
+	 * The desired order for the list:
+	 * ascending order if true, descending if false
+	 */
+	public ConcurrentSortedList(Comparator<? super T> comparator, boolean ascendingOrder)
+	{
+		list = new SortedList<>(null, comparator, ascendingOrder, SortedList.DEFAULT_CAPACITY, false);
+	}
+	
+	/**
+	 * Creates a ConcurrentSortedList in ascending order
+	 * from a given Collection
+	 * @param c
+	 * The Collection to create the list from
+	 */
+	public ConcurrentSortedList(Collection<? extends T> c)
+	{
+		list = new SortedList<>(c, null, true, c.size(), false);
+	}
+	
+	/**
+	 * Runs a read of the list optimistically, without locking, and
+	 * returns its result if no write happened meanwhile; otherwise
+	 * runs it again under the read lock. A read that saw a write in
+	 * progress may fail in any way, so failures are only rethrown 
+	 * once the stamp shows the list was not being written to
+	 * @param reader
+	 * The read to run
+	 * @return
+	 * The result of the read
+	 */
+	private <R> R read(Supplier<R> reader)
+	{
+		long stamp = lock.tryOptimisticRead();
+		if(stamp != 0)
+		{
+			try
+			{
+				R result = reader.get();
+				if(lock.validate(stamp))
+					return result;
+			}
+			catch(RuntimeException | Error e)
+			{
+				if(lock.validate(stamp))
+					throw e;
+			}
+		}
+		stamp = lock.readLock();
+		try
+		{
+			return reader.get();
+		}
+		finally
+		{
+			lock.unlockRead(stamp);
+		}
+	}
+	
+	/**
+	 * Runs a modification of the list under the write lock
+	 * @param writer
+	 * The modification to run
+	 * @return
+	 * The result of the modification
+	 */
+	private <R> R write(Supplier<R> writer)
+	{
+		long stamp = lock.writeLock();
+		try
+		{
+			return writer.get();
+		}
+		finally
+		{
+			lock.unlockWrite(stamp);
+		}
+	}
+	
+	/**
+	 * Gets and returns the element in the list at
+	 * a given index
+	 * @param index
+	 * The index to look for the element at
+	 * @return
+	 * The element at the given index 
+	 */
+	public T get(int index)
+	{
+		return read(() -> list.get(index));
+	}
+	
+	/**
+	 * Gets the minimum-value element in the list
+	 * @return
+	 * The minimum-value element in the list
+	 */
+	public T getMin()
+	{
+		return read(list::getMin);
+	}
+	
+	/**
+	 * Gets the maximum-value element in the list
+	 * @return
+	 * The maximum-value element in the list
+	 */
+	public T getMax()
+	{
+		return read(list::getMax);
+	}
+	
+	@Override
+	public int size()
+	{
+		return read(list::size);
+	}
+	
+	@Override
+	public boolean isEmpty()
+	{
+		return read(list::isEmpty);
+	}
+	
+	@Override
+	public boolean contains(Object o)
+	{
+		return read(() -> list.contains(o));
+	}
+	
+	/**
+	 * @see SortedList#lowerBound(Object)
+	 */
+	public int lowerBound(T e)
+	{
+		return read(() -> list.lowerBound(e));
+	}
+	
+	/**
+	 * @see SortedList#upperBound(Object)
+	 */
+	public int upperBound(T e)
+	{
+		return read(() -> list.upperBound(e));
+	}
+	
+	/**
+	 * @see SortedList#floor(Object)
+	 */
+	public T floor(T e)
+	{
+		return read(() -> list.floor(e));
+	}
+	
+	/**
+	 * @see SortedList#ceiling(Object)
+	 */
+	public T ceiling(T e)
+	{
+		return read(() -> list.ceiling(e));
+	}
+	
+	@Override
+	public boolean containsAll(Collection<?> c)
+	{
+		long stamp = lock.readLock();
+		try
+		{
+			return list.containsAll(c);
+		}
+		finally
+		{
+			lock.unlockRead(stamp);
+		}
+	}
+	
+	@Override
+	public boolean add(T e)
+	{
+		return write(() -> list.add(e));
+	}
+	
+	@Override
+	public boolean addAll(Collection<? extends T> c)
+	{
+		return write(() -> list.addAll(c));
+	}
+	
+	@Override
+	public boolean remove(Object o)
+	{
+		return write(() -> list.remove(o));
+	}
+	
+	@Override
+	public boolean removeAll(Collection<?> c)
+	{
+		return write(() -> list.removeAll(c));
+	}
+	
+	@Override
+	public boolean retainAll(Collection<?> c)
+	{
+		return write(() -> list.retainAll(c));
+	}
+	
+	@Override
+	public boolean removeIf(Predicate<? super T> filter)
+	{
+		return write(() -> list.removeIf(filter));
+	}
+	
+	/**
+	 * @see SortedList#removeRange(int, int)
+	 */
+	public void removeRange(int fromIndex, int toIndex)
+	{
+		write(() -> {
+			list.removeRange(fromIndex, toIndex);
+			return null;
+		});
+	}
+	
+	@Override
+	public void clear()
+	{
+		write(() -> {
+			list.clear();
+			return null;
+		});
+	}
+	
+	/**
+	 * @see SortedList#setOrder(boolean)
+	 */
+	public void setOrder(boolean ascending)
+	{
+		write(() -> {
+			list.setOrder(ascending);
+			return null;
+		});
+	}
+	
+	@Override
+	public Object[] toArray()
+	{
+		long stamp = lock.readLock();
+		try
+		{
+			return list.toArray();
+		}
+		finally
+		{
+			lock.unlockRead(stamp);
+		}
+	}
+	
+	@Override
+	public <A> A[] toArray(A[] a)
+	{
+		long stamp = lock.readLock();
+		try
+		{
+			return list.toArray(a);
+		}
+		finally
+		{
+			lock.unlockRead(stamp);
+		}
+	}
+	
+	/**
+	 * Creates an Iterator over a snapshot of the list
+	 * taken under the read lock
+	 * @return
+	 * An Iterator over the elements in sorted order at the time
+	 * of the call
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public Iterator<T> iterator()
+	{
+		return (Iterator<T>) Arrays.asList(toArray()).iterator();
+	}
+	
+	@Override
+	public String toString()
+	{
+		long stamp = lock.readLock();
+		try
+		{
+			return list.toString();
+		}
+		finally
+		{
+			lock.unlockRead(stamp);
+		}
+	}
+	
+	/**
+	 * Writes this ConcurrentSortedList to a stream under the read
+	 * lock, so a write running meanwhile cannot tear the stream
+	 * @param out
+	 * The stream to write to
+	 * @throws IOException
+	 * If the stream cannot be written to
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException
+	{
+		long stamp = lock.readLock();
+		try
+		{
+			out.defaultWriteObject();
+		}
+		finally
+		{
+			lock.unlockRead(stamp);
+		}
+	}
+}
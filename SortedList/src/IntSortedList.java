@@ -0,0 +1,504 @@
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * ************************************************************************
+ * 
+ * <p> A list of int values which are sorted in ascending order by 
+ * default on insertion. A primitive specialization of SortedList: the
+ * values are stored in an int[] rather than as boxed Integer objects,
+ * and are compared with Integer.compare(), so no boxing takes place when
+ * adding, searching or iterating.
+ * 
+ * <p> As with SortedList, accessing the minimum and maximum values 
+ * takes O(1) time, finding a value takes O(log n) time, and inserting
+ * or removing a value shifts the values after it with a single array copy.
+ * 
+ * @author Gabriel Toro
+ * 
+ * @see SortedList
+ * 
+ * ************************************************************************
+ */
+public class IntSortedList implements Iterable<Integer>, Serializable
+{
+	/**
+	 * ID for verification during serialization
+	 */
+	private static final long serialVersionUID = -2784403913046731526L;
+	
+	/**
+	 * Array storing all the values in the list in the 
+	 * default or desired sorting order (ascending/descending)
+	 */
+	private transient int[] list;
+	
+	/**
+	 * Initial capacity of list; set to SortedList.DEFAULT_CAPACITY
+	 * (11) if not specified in constructor
+	 */
+	private int initialCapacity;
+	
+	/**
+	 * The count of values in the list
+	 */
+	private int size;
+	
+	/**
+	 * Stores whether or not this list is sorted in
+	 * ascending (true) or descending (false) order
+	 */
+	private boolean ascending;
+	
+	/**
+	 * Default constructor; creates an IntSortedList with
+	 * ascending order and a default array capacity of 11
+	 */
+	public IntSortedList()
+	{
+		this(true);
+	}
+	
+	/**
+	 * Creates an IntSortedList with a given order
+	 * and a default array capacity of 11
+	 * @param ascendingOrder
+	 * The desired order for the list:
+	 * ascending order if true, descending if false
+	 */
+	public IntSortedList(boolean ascendingOrder)
+	{
+		this(ascendingOrder, SortedList.DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Creates an IntSortedList with a given order
+	 * and a given initial array capacity
+	 * @param ascendingOrder
+	 * The desired order for the list:
+	 * ascending order if true, descending if otherwise
+	 * @param cap
+	 * The initial capacity of the array
+	 */
+	public IntSortedList(boolean ascendingOrder, int cap)
+	{
+		list = new int[cap];
+		size = 0;
+		initialCapacity = cap;
+		this.ascending = ascendingOrder;
+	}
+	
+	/**
+	 * Creates an IntSortedList that adopts an array of values
+	 * which are already sorted in the given order, without copying
+	 * or sorting it
+	 * @param sorted
+	 * The values, sorted in the given order; the list takes
+	 * ownership of the array
+	 * @param ascendingOrder
+	 * The order of the values: ascending if true, descending if false
+	 */
+	IntSortedList(int[] sorted, boolean ascendingOrder)
+	{
+		list = sorted;
+		size = sorted.length;
+		initialCapacity = SortedList.DEFAULT_CAPACITY;
+		this.ascending = ascendingOrder;
+	}
+	
+	/**
+	 * Creates an IntSortedList in ascending order from a
+	 * given list of values (var-args)
+	 * @param vals
+	 * var-args parameter that contains the desired initial
+	 * values
+	 */
+	public IntSortedList(int... vals)
+	{
+		this(true, Math.max(SortedList.DEFAULT_CAPACITY, vals.length));
+		addAll(vals);
+	}
+	
+	/**
+	 * Gets and returns the value in the list at
+	 * a given index
+	 * @param index
+	 * The index to look for the value at
+	 * @return
+	 * The value at the given index 
+	 */
+	public int get(int index)
+	{
+		if(index < 0 || index >= size)
+			throw new ArrayIndexOutOfBoundsException();
+		return list[index];
+	}
+	
+	/**
+	 * Gets the minimum value in the list
+	 * @return
+	 * The minimum value in the list
+	 */
+	public int getMin()
+	{
+		if(size == 0)
+			throw new IllegalAccessError("There are no elements in the list");
+		if(ascending)
+			return list[0];
+		return list[size - 1];
+	}
+	
+	/**
+	 * Gets the maximum value in the list
+	 * @return
+	 * The maximum value in the list
+	 */
+	public int getMax()
+	{
+		if(size == 0)
+			throw new IllegalAccessError("There are no elements in the list");
+		if(ascending)
+			return list[size - 1];
+		return list[0];
+	}
+	
+	public int size()
+	{
+		return size;
+	}
+	
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+	
+	/**
+	 * Inserts the given value into its sorted position, found
+	 * with a binary search. Values equal to ones already in the
+	 * list are placed after them
+	 * @param e
+	 * The value to add
+	 * @return
+	 * True, as the list always changes as a result of the call
+	 */
+	public boolean add(int e)
+	{
+		int index = upperBound(e);
+		if(size == list.length)
+			ensureCapacity(size + 1);
+		System.arraycopy(list, index, list, index + 1, size - index);
+		list[index] = e;
+		size++;
+		return true;
+	}
+	
+	/**
+	 * Adds all the given values to this list. The values are
+	 * sorted once and merged into the list in a single linear pass
+	 * @param vals
+	 * The values to add
+	 * @return
+	 * True if this list changed as a result of the call
+	 */
+	public boolean addAll(int... vals)
+	{
+		int count = vals.length;
+		if(count == 0)
+			return false;
+		if(count > SortedList.MAX_CAPACITY - size)
+			throw new OutOfMemoryError("No more elements are allowed in the List");
+		ensureCapacity(size + count);
+		int[] items = Arrays.copyOf(vals, count);
+		Arrays.parallelSort(items);
+		if(!ascending)
+			for(int x = 0, y = count - 1; x < y; x++, y--)
+			{
+				int temp = items[x];
+				items[x] = items[y];
+				items[y] = temp;
+			}
+		int i = size - 1;
+		int j = count - 1;
+		int k = size + count - 1;
+		while(j >= 0)
+		{
+			if(i >= 0 && compare(list[i], items[j]) > 0)
+				list[k--] = list[i--];
+			else
+				list[k--] = items[j--];
+		}
+		size += count;
+		return true;
+	}
+	
+	/**
+	 * Grows the encapsulated array so it can hold at least
+	 * a given number of values, at least doubling the capacity
+	 * so repeated growth stays amortized
+	 * @param minCapacity
+	 * The minimum required capacity
+	 */
+	private void ensureCapacity(int minCapacity)
+	{
+		if(minCapacity <= list.length)
+			return;
+		if(minCapacity > SortedList.MAX_CAPACITY)
+			throw new OutOfMemoryError("No more elements are allowed in the List");
+		int newCapacity = (list.length >= SortedList.MAX_CAPACITY / 2) ? SortedList.MAX_CAPACITY : Math.max(list.length * 2, minCapacity);
+		list = Arrays.copyOf(list, newCapacity);
+	}
+	
+	/**
+	 * Compares two values according to the current order
+	 * of this list
+	 * @param a
+	 * The first value to compare
+	 * @param b
+	 * The second value to compare
+	 * @return
+	 * A negative integer, zero, or a positive integer if a is
+	 * ordered before, equal to, or after b respectively
+	 */
+	private int compare(int a, int b)
+	{
+		return (ascending) ? Integer.compare(a, b) : Integer.compare(b, a);
+	}
+	
+	/**
+	 * Finds the index of the first value in the list that is not
+	 * ordered before a given value, according to the current order
+	 * of this list. Runs in O(log n) time
+	 * @param e
+	 * The value to search for
+	 * @return
+	 * The index of the first value ordered at or after e, or
+	 * size() if there is no such value
+	 */
+	public int lowerBound(int e)
+	{
+		int low = 0;
+		int high = size;
+		while(low < high)
+		{
+			int mid = (low + high) >>> 1;
+			if(compare(list[mid], e) < 0)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+	
+	/**
+	 * Finds the index of the first value in the list that is 
+	 * ordered after a given value, according to the current order
+	 * of this list. Runs in O(log n) time
+	 * @param e
+	 * The value to search for
+	 * @return
+	 * The index of the first value ordered after e, or
+	 * size() if there is no such value
+	 */
+	public int upperBound(int e)
+	{
+		int low = 0;
+		int high = size;
+		while(low < high)
+		{
+			int mid = (low + high) >>> 1;
+			if(compare(list[mid], e) <= 0)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+	
+	/**
+	 * Finds the index of a given value in the list with a
+	 * binary search, returning the first of any equal values
+	 * @param e
+	 * The value to look for
+	 * @return
+	 * The index of the value, -1 if the value
+	 * does not exist in the list
+	 */
+	public int indexOf(int e)
+	{
+		int index = lowerBound(e);
+		if(index < size && Integer.compare(list[index], e) == 0)
+			return index;
+		return -1;
+	}
+	
+	public boolean contains(int e)
+	{
+		return indexOf(e) != -1;
+	}
+	
+	/**
+	 * Removes a single instance of the given value 
+	 * from this list, if it is present
+	 * @param e
+	 * The value to remove
+	 * @return
+	 * True if a value was removed, false if it was not present
+	 */
+	public boolean remove(int e)
+	{
+		int index = indexOf(e);
+		if(index == -1)
+			return false;
+		System.arraycopy(list, index + 1, list, index, size - index - 1);
+		size--;
+		return true;
+	}
+	
+	public void clear()
+	{
+		list = new int[initialCapacity];
+		size = 0;
+	}
+	
+	/**
+	 * Returns an array containing all the values
+	 * in this list in their sorted order
+	 * @return
+	 * The sorted array of values
+	 */
+	public int[] toArray()
+	{
+		return Arrays.copyOf(list, size);
+	}
+	
+	/**
+	 * Writes a snapshot of this list to a file, which can be
+	 * memory-mapped with MappedIntSortedList.open() for a near-instant
+	 * load; the file is replaced atomically if it exists
+	 * @param file
+	 * The file to write to
+	 * @throws IOException
+	 * If the file cannot be written
+	 */
+	public void writeSnapshot(Path file) throws IOException
+	{
+		MappedIntSortedList.write(file, list, size, ascending);
+	}
+	
+	/**
+	 * Sets the order for which values in this list
+	 * are arranged. If not empty, values will be reversed
+	 * to match the new desired order
+	 * @param ascending
+	 * The given order to arrange the values; ascending if true,
+	 * descending if false
+	 */
+	public void setOrder(boolean ascending)
+	{
+		if(ascending == this.ascending)
+			return;
+		this.ascending = ascending;
+		for(int i = 0, j = size - 1; i < j; i++, j--)
+		{
+			int temp = list[i];
+			list[i] = list[j];
+			list[j] = temp;
+		}
+	}
+	
+	/**
+	 * Gets whether this list is sorted in ascending order
+	 * @return
+	 * True if ascending, false if descending
+	 */
+	public boolean isAscending()
+	{
+		return ascending;
+	}
+	
+	/**
+	 * Writes this list to a stream. Only the size() values are
+	 * written, not the unused capacity of the array
+	 * @serialData
+	 * The default fields, then the values in sorted order (int)
+	 * @param out
+	 * The stream to write to
+	 * @throws IOException
+	 * If the stream cannot be written to
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException
+	{
+		out.defaultWriteObject();
+		for(int i = 0; i < size; i++)
+			out.writeInt(list[i]);
+	}
+	
+	/**
+	 * Reads a list written by writeObject(). The values are already
+	 * in sorted order, so the array is filled directly, only checking
+	 * the order rather than sorting again
+	 * @param in
+	 * The stream to read from
+	 * @throws IOException
+	 * If the stream cannot be read from
+	 * @throws ClassNotFoundException
+	 * If a class of the stream cannot be found
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+	{
+		in.defaultReadObject();
+		if(size < 0 || size > SortedList.MAX_CAPACITY || initialCapacity < 0)
+			throw new InvalidObjectException("Corrupt IntSortedList");
+		list = new int[Math.max(size, Math.min(initialCapacity, SortedList.DEFAULT_CAPACITY))];
+		for(int i = 0; i < size; i++)
+		{
+			list[i] = in.readInt();
+			if(i > 0 && compare(list[i - 1], list[i]) > 0)
+				throw new InvalidObjectException("IntSortedList values are out of order");
+		}
+	}
+	
+	@Override
+	public PrimitiveIterator.OfInt iterator()
+	{
+		return new PrimitiveIterator.OfInt()
+		{
+			private int index = 0;
+			
+			@Override
+			public boolean hasNext()
+			{
+				return index < size;
+			}
+			
+			@Override
+			public int nextInt()
+			{
+				if(index >= size)
+					throw new NoSuchElementException();
+				return list[index++];
+			}
+		};
+	}
+	
+	public String toString()
+	{
+		if(size == 0)
+			return "[]";
+		StringBuilder info = new StringBuilder(size * 4).append('[');
+		for(int i = 0; i < size; i++)
+		{
+			if(i > 0)
+				info.append(", ");
+			info.append(list[i]);
+		}
+		return info.append(']').toString();
+	}
+}
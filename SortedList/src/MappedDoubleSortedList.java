@@ -0,0 +1,331 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * ************************************************************************
+ * 
+ * <p> A read-only DoubleSortedList backed by a memory-mapped snapshot file,
+ * as written by {@link DoubleSortedList#writeSnapshot(Path)}. Opening a snapshot
+ * only maps the file, so it is near instant whatever the size of the
+ * list; values are paged in by the operating system as they are read.
+ * 
+ * <p> The snapshot format is a 16 byte header followed by the packed
+ * values in sorted order, all little-endian. The header holds the
+ * magic number 0x534C5354 ("SLST"), the format version (1 byte), the
+ * value type ('I', 'L' or 'D'; 1 byte), the order (1 for ascending,
+ * 0 for descending; 1 byte), a reserved byte, the size (int) and
+ * 4 reserved bytes. Snapshots are limited to 2GB by FileChannel.map().
+ * 
+ * @author Gabriel Toro
+ * 
+ * @see DoubleSortedList
+ * 
+ * ************************************************************************
+ */
+public class MappedDoubleSortedList implements Iterable<Double>
+{
+	/**
+	 * Magic number at the start of every snapshot file ("SLST")
+	 */
+	static final int MAGIC = 0x534C5354;
+	
+	/**
+	 * Version of the snapshot format
+	 */
+	static final byte VERSION = 1;
+	
+	/**
+	 * Length of the snapshot header in bytes
+	 */
+	static final int HEADER_LENGTH = 16;
+	
+	/**
+	 * Type tag of double snapshots
+	 */
+	private static final byte TYPE = 'D';
+	
+	/**
+	 * Size in bytes of the buffer a snapshot is written through
+	 */
+	private static final int WRITE_BUFFER = 1 << 16;
+	
+	/**
+	 * The mapped values, in sorted order
+	 */
+	private final DoubleBuffer values;
+	
+	/**
+	 * The count of values in the snapshot
+	 */
+	private final int size;
+	
+	/**
+	 * Stores whether or not the snapshot is sorted in
+	 * ascending (true) or descending (false) order
+	 */
+	private final boolean ascending;
+	
+	/**
+	 * Creates a view of a mapped snapshot; use open() 
+	 * @param buffer
+	 * The mapped snapshot file, header included
+	 * @param size
+	 * The count of values in the snapshot
+	 * @param ascending
+	 * The order of the values in the snapshot
+	 */
+	private MappedDoubleSortedList(ByteBuffer buffer, int size, boolean ascending)
+	{
+		this.values = buffer.position(HEADER_LENGTH).slice().order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+		this.size = size;
+		this.ascending = ascending;
+	}
+	
+	/**
+	 * Memory-maps a snapshot file written by DoubleSortedList.writeSnapshot()
+	 * @param file
+	 * The snapshot file to map
+	 * @return
+	 * A read-only view of the snapshot
+	 * @throws IOException
+	 * If the file cannot be read or is not a double snapshot
+	 */
+	public static MappedDoubleSortedList open(Path file) throws IOException
+	{
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+		{
+			long length = channel.size();
+			if(length < HEADER_LENGTH || length > Integer.MAX_VALUE)
+				throw new IOException("Not a double SortedList snapshot: " + file);
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+			int size = buffer.getInt(8);
+			if(buffer.getInt(0) != MAGIC || buffer.get(4) != VERSION || buffer.get(5) != TYPE
+					|| size < 0 || HEADER_LENGTH + (long) size * Double.BYTES != length)
+				throw new IOException("Not a double SortedList snapshot: " + file);
+			return new MappedDoubleSortedList(buffer, size, buffer.get(6) != 0);
+		}
+	}
+	
+	/**
+	 * Writes a snapshot of the values of a DoubleSortedList to a file,
+	 * replacing the file if it exists. The snapshot is written to a
+	 * temporary file in the same directory, which is then moved over
+	 * the file atomically, so a snapshot that is currently open keeps
+	 * reading the old file rather than faulting
+	 * @param file
+	 * The file to write to
+	 * @param list
+	 * The array of values, in sorted order
+	 * @param size
+	 * The count of values in the array
+	 * @param ascending
+	 * The order of the values
+	 * @throws IOException
+	 * If the file cannot be written
+	 */
+	static void write(Path file, double[] list, int size, boolean ascending) throws IOException
+	{
+		long length = HEADER_LENGTH + (long) size * Double.BYTES;
+		if(length > Integer.MAX_VALUE)
+			throw new IOException("Snapshot would exceed 2GB");
+		Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+		try
+		{
+			try(FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE))
+			{
+				ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+				buffer.putInt(MAGIC).put(VERSION).put(TYPE).put((byte) (ascending ? 1 : 0)).put((byte) 0).putInt(size).putInt(0);
+				int written = 0;
+				do
+				{
+					int count = Math.min(buffer.remaining() / Double.BYTES, size - written);
+					buffer.asDoubleBuffer().put(list, written, count);
+					buffer.position(buffer.position() + count * Double.BYTES).flip();
+					while(buffer.hasRemaining())
+						channel.write(buffer);
+					buffer.clear();
+					written += count;
+				}
+				while(written < size);
+				channel.force(true);
+			}
+			Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally
+		{
+			Files.deleteIfExists(temp);
+		}
+	}
+	
+	/**
+	 * Gets and returns the value in the snapshot at
+	 * a given index
+	 * @param index
+	 * The index to look for the value at
+	 * @return
+	 * The value at the given index 
+	 */
+	public double get(int index)
+	{
+		if(index < 0 || index >= size)
+			throw new ArrayIndexOutOfBoundsException();
+		return values.get(index);
+	}
+	
+	/**
+	 * Gets the minimum value in the snapshot
+	 * @return
+	 * The minimum value in the snapshot
+	 */
+	public double getMin()
+	{
+		if(size == 0)
+			throw new IllegalAccessError("There are no elements in the list");
+		if(ascending)
+			return values.get(0);
+		return values.get(size - 1);
+	}
+	
+	/**
+	 * Gets the maximum value in the snapshot
+	 * @return
+	 * The maximum value in the snapshot
+	 */
+	public double getMax()
+	{
+		if(size == 0)
+			throw new IllegalAccessError("There are no elements in the list");
+		if(ascending)
+			return values.get(size - 1);
+		return values.get(0);
+	}
+	
+	public int size()
+	{
+		return size;
+	}
+	
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+	
+	/**
+	 * Gets whether this snapshot is sorted in ascending order
+	 * @return
+	 * True if ascending, false if descending
+	 */
+	public boolean isAscending()
+	{
+		return ascending;
+	}
+	
+	/**
+	 * Compares two values according to the order
+	 * of this snapshot
+	 * @param a
+	 * The first value to compare
+	 * @param b
+	 * The second value to compare
+	 * @return
+	 * A negative integer, zero, or a positive integer if a is
+	 * ordered before, equal to, or after b respectively
+	 */
+	private int compare(double a, double b)
+	{
+		return (ascending) ? Double.compare(a, b) : Double.compare(b, a);
+	}
+	
+	/**
+	 * Finds the index of the first value in the snapshot that is
+	 * not ordered before a given value. Runs in O(log n) time
+	 * @param e
+	 * The value to search for
+	 * @return
+	 * The index of the first value ordered at or after e, or
+	 * size() if there is no such value
+	 */
+	public int lowerBound(double e)
+	{
+		int low = 0;
+		int high = size;
+		while(low < high)
+		{
+			int mid = (low + high) >>> 1;
+			if(compare(values.get(mid), e) < 0)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+	
+	/**
+	 * Finds the index of a given value in the snapshot with a
+	 * binary search, returning the first of any equal values
+	 * @param e
+	 * The value to look for
+	 * @return
+	 * The index of the value, -1 if the value
+	 * does not exist in the snapshot
+	 */
+	public int indexOf(double e)
+	{
+		int index = lowerBound(e);
+		if(index < size && Double.compare(values.get(index), e) == 0)
+			return index;
+		return -1;
+	}
+	
+	public boolean contains(double e)
+	{
+		return indexOf(e) != -1;
+	}
+	
+	/**
+	 * Copies the snapshot into a DoubleSortedList on the heap. The
+	 * values are already sorted, so the copy is adopted as is
+	 * @return
+	 * A modifiable DoubleSortedList holding the values of the snapshot
+	 */
+	public DoubleSortedList toList()
+	{
+		double[] copy = new double[size];
+		values.get(0, copy);
+		return new DoubleSortedList(copy, ascending);
+	}
+	
+	@Override
+	public PrimitiveIterator.OfDouble iterator()
+	{
+		return new PrimitiveIterator.OfDouble()
+		{
+			private int index = 0;
+			
+			@Override
+			public boolean hasNext()
+			{
+				return index < size;
+			}
+			
+			@Override
+			public double nextDouble()
+			{
+				if(index >= size)
+					throw new NoSuchElementException();
+				return values.get(index++);
+			}
+		};
+	}
+}
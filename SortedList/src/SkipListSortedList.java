@@ -0,0 +1,443 @@
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * ************************************************************************
+ * 
+ * <p> A lock-free, thread-safe sorted list for write-heavy concurrent
+ * use. Elements live in a concurrent skip list, so add() and remove()
+ * from any number of threads proceed without blocking each other and
+ * take O(log n) time instead of shifting the array of a SortedList.
+ * 
+ * <p> Like SortedList, duplicates are allowed and equal elements are
+ * kept in insertion order. getMin() and getMax() read the ends of the
+ * skip list; contains() and remove() are O(log n). There is no index,
+ * so get(int) walks the list and takes O(index) time; while other 
+ * threads are modifying the list it returns the element at that rank 
+ * in a weakly consistent traversal, and size() is likewise a snapshot
+ * that may already be stale when it returns.
+ * 
+ * <p> Iterators are weakly consistent: they never throw 
+ * ConcurrentModificationException and may or may not reflect changes
+ * made after they were created.
+ * 
+ * @author Gabriel Toro
+ * 
+ * @see SortedList
+ * @see ConcurrentSortedList
+ * 
+ * @param <T>
+ * The generic type of the list; <strong> MUST implement Comparable </strong> 
+ * for sorting to function properly unless a Comparator is given
+ * 
+ * ************************************************************************
+ */
+public class SkipListSortedList<T> implements Collection<T>, Serializable
+{
+	/**
+	 * ID for verification during serialization
+	 */
+	private static final long serialVersionUID = 6093418227430519276L;
+	
+	/**
+	 * Skip list of the elements, keyed by element and then by
+	 * insertion sequence so that equal elements stay distinct
+	 */
+	private final ConcurrentSkipListMap<Node<T>, Boolean> map;
+	
+	/**
+	 * The Comparator the elements of the list are sorted by, 
+	 * already reversed if the list is descending
+	 */
+	private final Comparator<? super T> comparator;
+	
+	/**
+	 * Whether the list is in ascending order
+	 */
+	private final boolean ascending;
+	
+	/**
+	 * Source of insertion sequence numbers
+	 */
+	private final AtomicLong nextSequence = new AtomicLong();
+	
+	/**
+	 * Number of elements in the list; kept separately since counting
+	 * the skip list takes O(n) time
+	 */
+	private final LongAdder count = new LongAdder();
+	
+	/**
+	 * Default constructor; creates a SkipListSortedList
+	 * with ascending order
+	 */
+	public SkipListSortedList()
+	{
+		this(null, true);
+	}
+	
+	/**
+	 * Creates a SkipListSortedList with a given order
+	 * @param ascendingOrder
+	 * The desired order for the list:
+	 * ascending order if true, descending if false
+	 */
+	public SkipListSortedList(boolean ascendingOrder)
+	{
+		this(null, ascendingOrder);
+	}
+	
+	/**
+	 * Creates a SkipListSortedList ordered by a given Comparator
+	 * @param comparator
+	 * The Comparator defining the ascending order of elements,
+	 * or null to use their natural ordering
+	 * @param ascendingOrder
+	 * The desired order for the list:
+	 * ascending order if true, descending if false
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public SkipListSortedList(Comparator<? super T> comparator, boolean ascendingOrder)
+	{
+		Comparator<? super T> order = (comparator != null) ? comparator : (Comparator) Comparator.naturalOrder();
+		this.comparator = ascendingOrder ? order : order.reversed();
+		ascending = ascendingOrder;
+		map = new ConcurrentSkipListMap<>(new NodeComparator<>(this.comparator));
+	}
+	
+	/**
+	 * Creates a SkipListSortedList in ascending order
+	 * from a given Collection
+	 * @param c
+	 * The Collection to create the list from
+	 */
+	public SkipListSortedList(Collection<? extends T> c)
+	{
+		this(null, true);
+		addAll(c);
+	}
+	
+	/**
+	 * Creates the key used to find the first element equal to a given 
+	 * one; it sorts before every element it is equal to
+	 * @param e
+	 * The element to look for
+	 * @return
+	 * The probe key
+	 */
+	private static <T> Node<T> probe(T e)
+	{
+		return new Node<>(e, Long.MIN_VALUE);
+	}
+	
+	/**
+	 * Finds the first element in the list equal to a given one
+	 * @param e
+	 * The element to look for
+	 * @return
+	 * The key of the element, or null if there is none
+	 */
+	private Node<T> find(T e)
+	{
+		Node<T> key = map.ceilingKey(probe(e));
+		if(key == null || comparator.compare(key.value, e) != 0)
+			return null;
+		return key;
+	}
+	
+	/**
+	 * Gets and returns the element in the list at a given index.
+	 * Takes O(index) time
+	 * @param index
+	 * The index to look for the element at
+	 * @return
+	 * The element at the given index 
+	 */
+	public T get(int index)
+	{
+		if(index >= 0)
+		{
+			Iterator<Node<T>> it = map.keySet().iterator();
+			for(int i = 0; it.hasNext(); i++)
+			{
+				Node<T> key = it.next();
+				if(i == index)
+					return key.value;
+			}
+		}
+		throw new ArrayIndexOutOfBoundsException(index);
+	}
+	
+	/**
+	 * Gets the minimum-value element in the list
+	 * @return
+	 * The minimum-value element in the list
+	 */
+	public T getMin()
+	{
+		return end(ascending);
+	}
+	
+	/**
+	 * Gets the maximum-value element in the list
+	 * @return
+	 * The maximum-value element in the list
+	 */
+	public T getMax()
+	{
+		return end(!ascending);
+	}
+	
+	/**
+	 * Gets the first or last element of the list
+	 * @param first
+	 * True for the first element, false for the last
+	 * @return
+	 * The element
+	 */
+	private T end(boolean first)
+	{
+		Map.Entry<Node<T>, Boolean> entry = first ? map.firstEntry() : map.lastEntry();
+		if(entry == null)
+			throw new IllegalAccessError("There are no elements in the list");
+		return entry.getKey().value;
+	}
+	
+	@Override
+	public int size()
+	{
+		// a removal may be counted before the add it races with
+		return (int) Math.max(0, Math.min(count.sum(), Integer.MAX_VALUE));
+	}
+	
+	@Override
+	public boolean isEmpty()
+	{
+		return map.isEmpty();
+	}
+	
+	/**
+	 * Gets whether this SkipListSortedList is sorted in ascending order
+	 * @return
+	 * True if ascending, false if descending
+	 */
+	public boolean isAscending()
+	{
+		return ascending;
+	}
+	
+	@Override
+	public boolean add(T e)
+	{
+		map.put(new Node<>(e, nextSequence.getAndIncrement()), Boolean.TRUE);
+		count.increment();
+		return true;
+	}
+	
+	@Override
+	public boolean addAll(Collection<? extends T> c)
+	{
+		boolean changed = false;
+		for(T e : c)
+			changed |= add(e);
+		return changed;
+	}
+	
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean contains(Object o)
+	{
+		return find((T) o) != null;
+	}
+	
+	@Override
+	public boolean containsAll(Collection<?> c)
+	{
+		for(Object o : c)
+		{
+			if(!contains(o))
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Removes the first element equal to a given one. If another thread
+	 * removes that element first, the next equal element is tried
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean remove(Object o)
+	{
+		Node<T> key;
+		while((key = find((T) o)) != null)
+		{
+			if(remove(key))
+				return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Removes a key from the skip list
+	 * @param key
+	 * The key to remove
+	 * @return
+	 * True if this call removed it, false if it was already gone
+	 */
+	private boolean remove(Node<T> key)
+	{
+		if(map.remove(key) == null)
+			return false;
+		count.decrement();
+		return true;
+	}
+	
+	@Override
+	public boolean removeIf(Predicate<? super T> filter)
+	{
+		Objects.requireNonNull(filter);
+		boolean changed = false;
+		for(Node<T> key : map.keySet())
+		{
+			if(filter.test(key.value))
+				changed |= remove(key);
+		}
+		return changed;
+	}
+	
+	@Override
+	public boolean removeAll(Collection<?> c)
+	{
+		Objects.requireNonNull(c);
+		return removeIf(c::contains);
+	}
+	
+	@Override
+	public boolean retainAll(Collection<?> c)
+	{
+		Objects.requireNonNull(c);
+		return removeIf(e -> !c.contains(e));
+	}
+	
+	@Override
+	public void clear()
+	{
+		removeIf(e -> true);
+	}
+	
+	@Override
+	public Iterator<T> iterator()
+	{
+		return new Iterator<T>()
+		{
+			private final Iterator<Node<T>> keys = map.keySet().iterator();
+			private Node<T> last;
+			
+			@Override
+			public boolean hasNext()
+			{
+				return keys.hasNext();
+			}
+			
+			@Override
+			public T next()
+			{
+				last = keys.next();
+				return last.value;
+			}
+			
+			@Override
+			public void remove()
+			{
+				if(last == null)
+					throw new IllegalStateException();
+				SkipListSortedList.this.remove(last);
+				last = null;
+			}
+		};
+	}
+	
+	@Override
+	public Object[] toArray()
+	{
+		return snapshot().toArray();
+	}
+	
+	@Override
+	public <A> A[] toArray(A[] a)
+	{
+		return snapshot().toArray(a);
+	}
+	
+	/**
+	 * Copies the elements of the list in order; the size of the
+	 * list may change while it is copied
+	 * @return
+	 * The copied elements
+	 */
+	private ArrayList<T> snapshot()
+	{
+		ArrayList<T> elements = new ArrayList<>(size());
+		for(Node<T> key : map.keySet())
+			elements.add(key.value);
+		return elements;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return snapshot().toString();
+	}
+	
+	/**
+	 * Skip list key: an element and the sequence number
+	 * it was inserted with
+	 */
+	private static final class Node<T> implements Serializable
+	{
+		private static final long serialVersionUID = -1622869360473312841L;
+		
+		final T value;
+		final long sequence;
+		
+		Node(T value, long sequence)
+		{
+			this.value = value;
+			this.sequence = sequence;
+		}
+	}
+	
+	/**
+	 * Orders keys by element, then equal elements by insertion
+	 */
+	private static final class NodeComparator<T> implements Comparator<Node<T>>, Serializable
+	{
+		private static final long serialVersionUID = 2857703186310961740L;
+		
+		private final Comparator<? super T> comparator;
+		
+		NodeComparator(Comparator<? super T> comparator)
+		{
+			this.comparator = comparator;
+		}
+		
+		@Override
+		public int compare(Node<T> a, Node<T> b)
+		{
+			int c = comparator.compare(a.value, b.value);
+			if(c != 0)
+				return c;
+			return Long.compare(a.sequence, b.sequence);
+		}
+	}
+}
@@ -1,8 +1,24 @@
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
 import java.util.Iterator;
-import java.util.Random;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * ************************************************************************
@@ -15,11 +31,13 @@ import java.util.Random;
  * <p> Implements the Collection and Serializable interfaces, with the
  * former allowing SortedList objects to be used in a for-each loop. All
  * SortedLists begin with a capacity for the encapsulated array, which
- * grows as elements are added.
+ * grows by a configurable factor as elements are added and shrinks
+ * again once most of it is unused.
  * 
- * <p> The generic argument for the elements in the SortedList 
- * <strong> MUST extend Comparable, </strong> or else the insertion
- * sorting will NOT work and you will receive an error
+ * <p> Elements are ordered by a Comparator given at construction, or
+ * by their natural ordering if none is given. Without a Comparator, the
+ * elements <strong> MUST implement Comparable, </strong> or else the
+ * insertion sorting will NOT work and you will receive a ClassCastException
  * 
  * @author Gabriel Toro
  * 
@@ -29,18 +47,17 @@ import java.util.Random;
  * @apiNote Will implement static sorting methods in a future update.
  * 
  * @param <T>
- * The generic type of the list <strong> MUST extend Comparable </strong> 
- * for sorting to function properly; a compile-time error will 
- * be shown if this condition is not met
+ * The generic type of the list; <strong> MUST implement Comparable </strong> 
+ * for sorting to function properly unless a Comparator is given
  * 
  * ************************************************************************
  */
-public class SortedList<T extends Comparable<T>> implements Collection<T>, Serializable
+public class SortedList<T> implements Collection<T>, Serializable
 {
 	/**
 	 * ID for verification during serialization
 	 */
-	private static final long serialVersionUID = -8239062692166131195L;
+	private static final long serialVersionUID = 4718323390675187102L;
 	
 	/**
 	 * SortedList default array capacity
@@ -53,18 +70,22 @@ public class SortedList<T extends Comparable<T>> implements Collection<T>, Seria
 	public static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
 	
 	/**
-	 * English alphabet in both cases and numbers 0-9
-	 * in a convenient String for hashing
+	 * Factor the array capacity is multiplied by when it grows,
+	 * unless set otherwise with setGrowthFactor()
 	 */
-	private static final String base64 = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+	public static final double DEFAULT_GROWTH_FACTOR = 2.0;
+	
+	/**
+	 * The array is shrunk once fewer than 1/SHRINK_DIVISOR of 
+	 * its slots are in use
+	 */
+	private static final int SHRINK_DIVISOR = 4;
 	
 	/**
-	 * Random number generator for generating a hash string
-	 * from characters found in the base64 String. Seed is updated
-	 * (set to this SortedList's hash code) upon call to hashString();
-	 * otherwise seed is set to system time
+	 * English alphabet in both cases and numbers 0-9
+	 * in a convenient String for hashing
 	 */
-	private static final Random hasher = new Random();
+	private static final String base64 = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
 	
 	/**
 	 * Static length of the hash string for SortedList objects.
@@ -76,14 +97,21 @@ public class SortedList<T extends Comparable<T>> implements Collection<T>, Seria
 	 * Array storing all the elements in the SortedList in the 
 	 * default or desired sorting order (ascending/descending)
 	 */
-	private T[] list; 
+	private transient T[] list; 
+	
+	/**
+	 * Insertion sequence numbers of the elements in the SortedList,
+	 * parallel to list: sequence[i] is the number assigned to list[i]
+	 * when it was added. Sorting the elements by these numbers gives
+	 * their insertion order. Null if insertion order is not tracked
+	 */
+	private transient int[] sequence;
 	
 	/**
-	 * Array storing all the elements in the SortedList in
-	 * the order they were originally put in. Used for debugging
-	 * and might have future use cases
+	 * The sequence number that will be given to the next
+	 * element added to this SortedList
 	 */
-	private T[] unsortedList;
+	private int nextSequence;
 	
 	/**
 	 * Initial capacity of list; set to DEFAULT_CAPACITY (11)
@@ -104,12 +132,70 @@ public class SortedList<T extends Comparable<T>> implements Collection<T>, Seria
 	private boolean ascending;
 	
 	/**
-	 * Stores whether or not the SortedList can have its 
-	 * capacity increased. True by default, becomes false
-	 * when ensureCapacity() determines the capacity has been
-	 * increased to MAX_CAPACITY
+	 * Comparator defining the ascending order of the elements;
+	 * the natural ordering of the elements if none was given
+	 */
+	private Comparator<? super T> order;
+	
+	/**
+	 * Comparator used for every comparison of elements: order
+	 * itself when ascending, or order reversed when descending
+	 */
+	private transient Comparator<? super T> comparator;
+	
+	/**
+	 * Sum of the spread hash codes of all the elements, kept up 
+	 * to date on every insertion and removal so hashCode() is O(1)
+	 */
+	private transient int contentHash;
+	
+	/**
+	 * Count of structural modifications of this SortedList,
+	 * letting iterators detect concurrent modification
+	 */
+	private transient int modCount;
+	
+	/**
+	 * Factor the array capacity is multiplied by when it grows;
+	 * always greater than 1
+	 */
+	private double growthFactor;
+	
+	/**
+	 * Capacity of the insertion buffer; 0 if add() inserts 
+	 * directly into list
+	 */
+	private int bufferCapacity;
+	
+	/**
+	 * Unsorted staging area for elements added while buffering
+	 * is on, allocated on first use. The elements are merged into
+	 * list on the next read, or when the buffer fills up
+	 */
+	private transient T[] buffer;
+	
+	/**
+	 * Number of elements waiting in buffer; size does not count them
+	 */
+	private transient int buffered;
+	
+	/**
+	 * The buffered element ordered first, and the one ordered last,
+	 * in the current order of the list; kept so getMin() and getMax()
+	 * stay O(1) without merging the buffer
+	 */
+	private transient T bufferFirst, bufferLast;
+	
+	/**
+	 * Maximum number of elements the list keeps; 0 if unbounded
+	 */
+	private int bound;
+	
+	/**
+	 * Whether a bounded list evicts its minimum (true) or its
+	 * maximum (false) to make room for a better element
 	 */
-	private boolean capacityIncreaseAllowed;
+	private boolean evictMin;
 	
 	/**
 	 * Default constructor; creates a SortedList with
@@ -146,6 +232,49 @@ public class SortedList<T extends Comparable<T>> implements Collection<T>, Seria
 		this(null, ascendingOrder, cap);
 	}
 	
+	/**
+	 * Creates a SortedList with a given order, a given
+	 * initial array capacity, and optionally without
+	 * tracking the insertion order of its elements
+	 * @param ascendingOrder
+	 * The desired order for the SortedList:
+	 * ascending order if true, descending if otherwise
+	 * @param cap
+	 * The initial capacity of the array
+	 * @param trackInsertionOrder
+	 * Whether or not the insertion order of elements is kept
+	 * for unsortedArray() and toString(false)
+	 */
+	public SortedList(boolean ascendingOrder, int cap, boolean trackInsertionOrder)
+	{
+		this(null, ascendingOrder, cap, trackInsertionOrder);
+	}
+	
+	/**
+	 * Creates a SortedList in ascending order as defined
+	 * by a given Comparator, with a default array capacity of 11
+	 * @param comparator
+	 * The Comparator defining the ascending order of elements
+	 */
+	public SortedList(Comparator<? super T> comparator)
+	{
+		this(comparator, true);
+	}
+	
+	/**
+	 * Creates a SortedList ordered by a given Comparator,
+	 * with a default array capacity of 11
+	 * @param comparator
+	 * The Comparator defining the ascending order of elements
+	 * @param ascendingOrder
+	 * The desired order for the SortedList:
+	 * ascending order if true, descending if false
+	 */
+	public SortedList(Comparator<? super T> comparator, boolean ascendingOrder)
+	{
+		this(null, comparator, ascendingOrder, DEFAULT_CAPACITY, true);
+	}
+	
 	/**
 	 * Creates a SortedList in ascending order from a
 	 * given list of data (var-args)
@@ -156,9 +285,7 @@ public class SortedList<T extends Comparable<T>> implements Collection<T>, Seria
 	@SafeVarargs
 	public SortedList(T... vals)
 	{
-		this(true);
-		for(T t : vals)
-			add(t);
+		this(true, vals);
 	}
 	
 	/**
@@ -166,17 +293,24 @@ public class SortedList<T extends Comparable<T>> implements Collection<T>, Seria
 	 * given list of data (var-args)
 	 * @param ascendingOrder
 	 * The desired order for the SortedList:
-	 * ascending order if true, descending if false
+	 * ascending order if true, descending if false. Boxed so that
+	 * new SortedList&lt;&gt;(false, 1, 2, 3) picks this constructor 
+	 * over SortedList(T...) now that T need not be Comparable;
+	 * must not be null
 	 * @param vals
 	 * varargs parameter that contains the desired initial
 	 * data
 	 */
 	@SafeVarargs
-	public SortedList(boolean ascendingOrder, T... vals)
+	@SuppressWarnings("unchecked") // addAll() only reads and reorders the copy, like the backing array
+	public SortedList(Boolean ascendingOrder, T... vals)
 	{
-		this(ascendingOrder);
-		for(T t : vals)
-			add(t);
+		this(ascendingOrder, Math.max(DEFAULT_CAPACITY, vals.length));
+		// copy into a fresh array so the caller's array is never sorted in place
+		Object[] items = new Object[vals.length];
+		for(int i = 0; i < vals.length; i++)
+			items[i] = vals[i];
+		addAll((T[]) items);
 	}
 	
 	/**
@@ -203,6 +337,20 @@ public class SortedList<T extends Comparable<T>> implements Collection<T>, Seria
 		this(c, ascendingOrder, c.size());
 	}
 	
+	/**
+	 * Creates a SortedList in ascending order as defined by a
+	 * given Comparator from a given Collection, with a capacity
+	 * equal to the size of the Collection
+	 * @param c
+	 * The Collection to create the SortedList from
+	 * @param comparator
+	 * The Comparator defining the ascending order of elements
+	 */
+	public SortedList(Collection<? extends T> c, Comparator<? super T> comparator)
+	{
+		this(c, comparator, true, c.size(), true);
+	}
+	
 	/**
 	 * Creates a Sorted list with a given order from a
 	 * given Collection with a given capacity
@@ -216,15 +364,65 @@ public class SortedList<T extends Comparable<T>> implements Collection<T>, Seria
 	 * The initial capacity of the array; must be >= the 
 	 * size of the given Collection
 	 */
-	@SuppressWarnings("unchecked")
 	public SortedList(Collection<? extends T> c, boolean ascendingOrder, int cap)
 	{
-		list = (T[]) new Comparable[cap];
-		unsortedList = (T[]) new Comparable[cap];
+		this(c, ascendingOrder, cap, true);
+	}
+	
+	/**
+	 * Creates a Sorted list with a given order from a
+	 * given Collection with a given capacity, and optionally
+	 * without tracking the insertion order of its elements
+	 * @param c
+	 * The Collection whose elements will be put inside
+	 * this SortedList
+	 * @param ascendingOrder
+	 * The desired order for the SortedList:
+	 * ascending order if true, descending if otherwise
+	 * @param cap
+	 * The initial capacity of the array; must be >= the 
+	 * size of the given Collection
+	 * @param trackInsertionOrder
+	 * Whether or not the insertion order of elements is kept
+	 * for unsortedArray() and toString(false)
+	 */
+	public SortedList(Collection<? extends T> c, boolean ascendingOrder, int cap, boolean trackInsertionOrder)
+	{
+		this(c, null, ascendingOrder, cap, trackInsertionOrder);
+	}
+	
+	/**
+	 * Creates a Sorted list ordered by a given Comparator from
+	 * a given Collection with a given capacity, and optionally
+	 * without tracking the insertion order of its elements
+	 * @param c
+	 * The Collection whose elements will be put inside
+	 * this SortedList; may be null
+	 * @param comparator
+	 * The Comparator defining the ascending order of elements;
+	 * the natural ordering of the elements is used if null
+	 * @param ascendingOrder
+	 * The desired order for the SortedList:
+	 * ascending order if true, descending if otherwise
+	 * @param cap
+	 * The initial capacity of the array; must be >= the 
+	 * size of the given Collection
+	 * @param trackInsertionOrder
+	 * Whether or not the insertion order of elements is kept
+	 * for unsortedArray() and toString(false)
+	 */
+	@SuppressWarnings("unchecked")
+	public SortedList(Collection<? extends T> c, Comparator<? super T> comparator, boolean ascendingOrder, int cap, boolean trackInsertionOrder)
+	{
+		list = (T[]) new Object[cap];
+		sequence = (trackInsertionOrder) ? new int[cap] : null;
+		nextSequence = 0;
 		size = 0;
 		initialCapacity = cap;
 		this.ascending = ascendingOrder;
-		capacityIncreaseAllowed = true;
+		order = (comparator != null) ? comparator : naturalOrder();
+		this.comparator = (ascendingOrder) ? order : order.reversed();
+		growthFactor = DEFAULT_GROWTH_FACTOR;
 		if(c != null)
 		{
 			if(cap < c.size())
@@ -233,6 +431,18 @@ public class SortedList<T extends Comparable<T>> implements Collection<T>, Seria
 		}
 	}
 	
+	/**
+	 * Gets the natural ordering Comparator for elements
+	 * that implement Comparable
+	 * @return
+	 * A Comparator using the elements' compareTo()
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static <T> Comparator<? super T> naturalOrder()
+	{
+		return (Comparator) Comparator.naturalOrder();
+	}
+	
 	/**
 	 * Gets and returns the element in the list at
 	 * a given index
@@ -243,6 +453,7 @@ public class SortedList<T extends Comparable<T>> implements Collection<T>, Seria
 	 */
 	public T get(int index)
 	{
+		flush();
 		if(index < 0 || index >= size)
 			throw new ArrayIndexOutOfBoundsException();
 		return list[index];
@@ -255,11 +466,7 @@ public class SortedList<T extends Comparable<T>> implements Collection<T>, Seria
 	 */
 	public T getMin()
 	{
-		if(size == 0)
-			throw new IllegalAccessError("There are no elements in the list");
-		if(ascending)
-			return list[0];
-		return list[size - 1];
+		return (ascending) ? first() : last();
 	}
 	
 	/**
@@ -269,235 +476,1160 @@ public class SortedList<T extends Comparable<T>> implements Collection<T>, Seria
 	 */
 	public T getMax()
 	{
-		if(size == 0)
-			throw new IllegalAccessError("There are no elements in the list");
-		if(ascending)
-			return list[size - 1];
-		return list[0];
+		return (ascending) ? last() : first();
 	}
 	
-	public int size()
-	{
-		return size;
-	}
-
-	@Override
-	public boolean add(T e) 
+	/**
+	 * Gets the first element of the list in its current order,
+	 * looking at the insertion buffer without merging it
+	 * @return
+	 * The first element
+	 */
+	private T first()
 	{
-		size++;
-		if(size == list.length)
-			ensureCapacity();
-		unsortedList[size - 1] = e;
-		list[size - 1] = e;
-		for(int i = size - 1; i > 0; i--)
+		if(size == 0)
 		{
-			if(ascending) 
-			{
-				if(list[i].compareTo(list[i - 1]) < 0)
-					swap(i, i - 1);
-				else { return true; }
-			} 
-			else 
-			{
-				if(list[i].compareTo(list[i - 1]) > 0)
-					swap(i, i - 1);
-				else { return true; }
-			}
+			if(buffered == 0)
+				throw new IllegalAccessError("There are no elements in the list");
+			return bufferFirst;
 		}
-		if(size == 1) // resolves loop skip if e is first element added to list
-			return true;
-		if(indexOf(e) == 0) // resolves loop break when final position of e is at [0]
-			return true;
-		return false;
+		if(buffered > 0 && compare(bufferFirst, list[0]) < 0)
+			return bufferFirst;
+		return list[0];
 	}
 	
 	/**
-	 * Doubles the capacity of the encapsulated array
-	 * for size mutability. If capacity is at MAX_CAPACITY,
-	 * the method does not allow further capacity increases.
-	 * If Collection size is at MAX_CAPACITY, throws 
-	 * OutOfMemoryError
+	 * Gets the last element of the list in its current order,
+	 * looking at the insertion buffer without merging it
+	 * @return
+	 * The last element
 	 */
-	private void ensureCapacity()
+	private T last()
 	{
-		if(!capacityIncreaseAllowed)
-			return;
-		if(size == MAX_CAPACITY)
-			throw new OutOfMemoryError("No more elements are allowed in the List");
-		if(list.length * 2 >= MAX_CAPACITY)
-		{
-			unsortedList = Arrays.copyOf(unsortedList, MAX_CAPACITY);
-			list = Arrays.copyOf(list, MAX_CAPACITY);
-			capacityIncreaseAllowed = false;
-		}
-		else
+		if(size == 0)
 		{
-			unsortedList = Arrays.copyOf(unsortedList, unsortedList.length * 2);
-			list = Arrays.copyOf(list, list.length * 2);
+			if(buffered == 0)
+				throw new IllegalAccessError("There are no elements in the list");
+			return bufferLast;
 		}
+		if(buffered > 0 && compare(bufferLast, list[size - 1]) >= 0)
+			return bufferLast;
+		return list[size - 1];
 	}
 	
-	/**
-	 * Swaps the elements at the given indexes in the list
-	 * @param x
-	 * The index of the first element to swap
-	 * @param y
-	 * The index of the second element to swap
-	 */
-	private void swap(int x, int y)
-	{
-		if(x == y)
-			return;
-		T temp = list[x];
-		list[x] = list[y];
-		list[y] = temp;
-	}
-
-	@Override
-	public boolean addAll(Collection<? extends T> c) 
+	public int size()
 	{
-		for(T t : c)
-			if(!add(t))
-				return false;
-		return true;
+		return size + buffered;
 	}
-
-	@SuppressWarnings("unchecked")
-	@Override
-	public void clear() 
+	
+	/**
+	 * Gets whether this SortedList is sorted in ascending order
+	 * @return
+	 * True if ascending, false if descending
+	 */
+	public boolean isAscending()
 	{
-		list = (T[]) new Comparable[initialCapacity];
-		size = 0;
+		return ascending;
 	}
-
-	@SuppressWarnings("unchecked")
-	@Override
-	public boolean contains(Object o) 
+	
+	/**
+	 * Gets the Comparator this SortedList orders its elements 
+	 * by, reflecting its current ascending or descending order
+	 * @return
+	 * The Comparator used to compare elements
+	 */
+	public Comparator<? super T> comparator()
 	{
-		return indexOf((T) o) != -1;
+		return comparator;
 	}
-
-	@Override
-	public boolean containsAll(Collection<?> c)
+	
+	/**
+	 * Determines whether or not this SortedList keeps
+	 * the insertion order of its elements
+	 * @return
+	 * True if insertion order is tracked
+	 */
+	public boolean isTrackingInsertionOrder()
 	{
-		int count = 0;
-		for (int i = 0; i < size; i++) {
-			if(c.contains(get(i)))
-				count++;
-		}
-		return count == c.size();
+		return sequence != null;
 	}
-
-	@Override
-	public boolean isEmpty() 
+	
+	/**
+	 * Turns buffered insertion on or off. While it is on, add() only
+	 * appends the element to an unsorted buffer of the given capacity,
+	 * and the whole buffer is sorted and merged into the list in one
+	 * pass on the next read, or as soon as it fills up. n insertions
+	 * then cost O(n log n) instead of n shifts of the array. getMin(),
+	 * getMax() and size() do not merge the buffer and stay O(1)
+	 * @param capacity
+	 * The number of elements buffered before they are merged,
+	 * or 0 to insert every element directly
+	 * @throws IllegalArgumentException
+	 * If capacity is negative
+	 * @throws IllegalStateException
+	 * If the list is bounded; see setBound()
+	 */
+	public void setInsertBuffer(int capacity)
 	{
-		return size == 0;
+		if(capacity < 0)
+			throw new IllegalArgumentException("Illegal buffer capacity: " + capacity);
+		if(capacity > 0 && bound > 0)
+			throw new IllegalStateException("A bounded SortedList cannot buffer insertions");
+		flush();
+		bufferCapacity = capacity;
+		buffer = null;
 	}
-
-	@SuppressWarnings({ "rawtypes", "unchecked" })
-	@Override
-	public Iterator<T> iterator() 
+	
+	/**
+	 * Gets the capacity of the insertion buffer
+	 * @return
+	 * The number of elements buffered before they are merged,
+	 * or 0 if buffered insertion is off
+	 */
+	public int insertBufferCapacity()
 	{
-		return new SortedListIterator(this);
+		return bufferCapacity;
 	}
-
-	@SuppressWarnings("unchecked")
-	@Override
-	public boolean remove(Object o) 
+	
+	/**
+	 * Bounds the size of this SortedList, so it keeps only the best
+	 * maxSize elements, e.g. the top entries of a leaderboard. Once the
+	 * list is full, add() compares the new element with the element at
+	 * the evicting end in O(1) and rejects it if it would not make the
+	 * cut; otherwise that element is evicted to make room, without
+	 * growing the array. Elements equal to the one at the evicting end
+	 * are rejected, so earlier elements win ties; addAll() and the
+	 * eviction of a surplus follow the same rule. If the list already
+	 * holds more than maxSize elements, the surplus is evicted now
+	 * @param maxSize
+	 * The maximum number of elements, or 0 to remove the bound
+	 * @param evictMin
+	 * True to keep the largest elements, evicting the minimum;
+	 * false to keep the smallest, evicting the maximum
+	 * @throws IllegalArgumentException
+	 * If maxSize is negative or above MAX_CAPACITY
+	 * @throws IllegalStateException
+	 * If an insertion buffer is set; a bounded list inserts directly
+	 */
+	public void setBound(int maxSize, boolean evictMin)
 	{
-		removeFromUnsorted(o);
-		return remove(indexOf((T) o)) != null;
+		if(maxSize < 0 || maxSize > MAX_CAPACITY)
+			throw new IllegalArgumentException("Illegal bound: " + maxSize);
+		if(maxSize > 0 && bufferCapacity > 0)
+			throw new IllegalStateException("A bounded SortedList cannot buffer insertions");
+		bound = maxSize;
+		this.evictMin = evictMin;
+		// room for exactly bound elements, so a full list never grows
+		trimToBound();
 	}
 	
 	/**
-	 * Removes a single instance of the specified element from 
-	 * the unsorted list, if it is present 
-	 * @param o
-	 * The object to find and remove
+	 * Gets the bound set with setBound()
+	 * @return
+	 * The maximum number of elements, or 0 if unbounded
 	 */
-	@SuppressWarnings("unchecked")
-	private void removeFromUnsorted(Object o)
+	public int bound()
 	{
-		int index = 0;
-		for(int i = 0; i < size; i++)
-			if(unsortedList[i].compareTo((T) o) == 0)
-				index = i;
-		for(int x = index; x < unsortedList.length - 1; x++)
-			unsortedList[x] = unsortedList[x + 1];
+		return bound;
 	}
 	
 	/**
-	 * Helper method to remove an object at a given
-	 * index in the list
-	 * @param index
-	 * The index to remove the object from
+	 * Gets which end of a bounded list is evicted: the first element
+	 * in the current order if true, the last if false
 	 * @return
-	 * The removed element
+	 * Whether the first element is the one evicted
 	 */
-	private T remove(int index)
+	private boolean evictsFirst()
 	{
-		if(index < 0 || index >= size)
-			throw new ArrayIndexOutOfBoundsException();
-		size--;
-		T temp = list[index];
-		list[index] = null;
-		for(int i = index; i < list.length - 1; i++)
-			list[i] = list[i + 1];
-		list[list.length - 1] = null;
-		return temp;
+		return evictMin == ascending;
 	}
 	
 	/**
-	 * Helper method to determine the index
-	 * of a given element in the list
-	 * @param o
-	 * The object to look for
-	 * @return
-	 * The index of the desired object, -1 if
-	 * the object does not exist in the list
+	 * Evicts elements from the evicting end until the size of the
+	 * list is within its bound, then sets the capacity to exactly
+	 * the bound
 	 */
-	private int indexOf(T o)
+	private void trimToBound()
 	{
-		for (int i = 0; i < size; i++) {
-			if(list[i].compareTo(o) == 0)
-				return i;
-		}
-		return -1;
+		if(bound == 0)
+			return;
+		evictSurplus();
+		if(list.length != bound)
+			resize(bound);
 	}
-
-	@Override
-	public boolean removeAll(Collection<?> c)
+	
+	/**
+	 * Evicts elements from the evicting end until the size of the
+	 * list is within its bound, leaving the capacity as it is. As in
+	 * addEvicting(), of several equal elements at the cut the ones
+	 * added last are evicted
+	 */
+	private void evictSurplus()
 	{
-		boolean changed = false;
-		for (int i = 0; i < size; i++) {
-			if(c.contains(get(i)))
+		int excess = size - bound;
+		if(excess <= 0)
+			return;
+		if(evictsFirst())
+		{
+			// equal elements sit in insertion order, so a run straddling
+			// the cut loses its tail rather than its head
+			int runStart = lowerBound(list[excess]);
+			if(runStart < excess)
 			{
-				remove(i);
-				i--;
-				changed = true;
+				int runEnd = upperBound(list[excess]);
+				removeRange(runEnd - (excess - runStart), runEnd);
+				removeRange(0, runStart);
 			}
+			else
+				removeRange(0, excess);
 		}
-		return changed;
+		else
+			removeRange(bound, size);
 	}
-
-	@Override
-	public boolean retainAll(Collection<?> c) 
+	
+	/**
+	 * Drops the elements of a batch bound for a bounded list that
+	 * would be evicted by evictSurplus() anyway, so merging the batch
+	 * needs room for at most about bound more elements. Elements equal
+	 * to the cut are all kept and left to evictSurplus(), and the
+	 * kept elements stay in their given order
+	 * @param items
+	 * The batch, holding more than bound elements
+	 * @return
+	 * The elements of the batch that may survive the merge
+	 */
+	@SuppressWarnings("unchecked")
+	private T[] bestOf(T[] items)
 	{
-		boolean changed = false;
-		for (int i = 0; i < size; i++) {
-			if(!c.contains(get(i)))
-			{
-				remove(i);
-				i--;
-				changed = true;
-			}
+		T[] sorted = items.clone();
+		Arrays.sort(sorted, this::compare);
+		boolean first = evictsFirst();
+		T cut = sorted[first ? items.length - bound : bound - 1];
+		Object[] kept = new Object[items.length];
+		int count = 0;
+		for(T e : items)
+		{
+			int c = compare(e, cut);
+			if(first ? c >= 0 : c <= 0)
+				kept[count++] = e;
 		}
-		return changed;
+		return (T[]) Arrays.copyOf(kept, count);
 	}
-
-	@Override
+	
+	/**
+	 * Adds an element to a full bounded list, evicting the element at
+	 * the evicting end; of several equal elements there, the one added
+	 * last is evicted. The elements between the evicted one and the
+	 * insertion point are moved over by one with a single array copy
+	 * @param e
+	 * The element to add
+	 * @return
+	 * True if e was added, false if it was rejected
+	 */
+	private boolean addEvicting(T e)
+	{
+		boolean first = evictsFirst();
+		if(first ? compare(e, list[0]) <= 0 : compare(e, list[size - 1]) >= 0)
+			return false;
+		int index = upperBound(e);
+		int victim = (first) ? upperBound(list[0]) - 1 : size - 1;
+		T evicted = list[victim];
+		if(sequence != null && nextSequence == Integer.MAX_VALUE)
+			renumberSequence();
+		if(first)
+		{
+			// slide the elements after the victim, up to the insertion point, down
+			index--;
+			System.arraycopy(list, victim + 1, list, victim, index - victim);
+			if(sequence != null)
+				System.arraycopy(sequence, victim + 1, sequence, victim, index - victim);
+		}
+		else
+		{
+			// drop the last element and slide everything from the insertion point up
+			System.arraycopy(list, index, list, index + 1, size - 1 - index);
+			if(sequence != null)
+				System.arraycopy(sequence, index, sequence, index + 1, size - 1 - index);
+		}
+		list[index] = e;
+		if(sequence != null)
+			sequence[index] = nextSequence++;
+		contentHash += spread(e) - spread(evicted);
+		modCount++;
+		return true;
+	}
+	
+	/**
+	 * Merges the insertion buffer, if it holds any elements, into
+	 * the list with a single sort and merge. Every method that reads
+	 * the elements of list calls this first
+	 */
+	private void flush()
+	{
+		if(buffered == 0)
+			return;
+		T[] items = Arrays.copyOf(buffer, buffered);
+		Arrays.fill(buffer, 0, buffered, null);
+		buffered = 0;
+		bufferFirst = bufferLast = null;
+		addAll(items, true);
+	}
+
+	/**
+	 * Inserts the given element into its sorted position. The slot
+	 * is found with a binary search and the tail of the list is moved
+	 * over with a single array copy, so an insertion costs O(log n)
+	 * comparisons. Elements that compare equal to ones already in
+	 * the list are placed after them, preserving insertion order
+	 * among equal elements in both ascending and descending order.
+	 * With an insertion buffer set, the element is only appended to 
+	 * the buffer; see setInsertBuffer()
+	 * @param e
+	 * The element to add
+	 * @return
+	 * True, unless the list is bounded and full and e does not
+	 * make the cut; see setBound()
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean add(T e) 
+	{
+		if(bufferCapacity > 0)
+		{
+			if(buffer == null)
+				buffer = (T[]) new Object[bufferCapacity];
+			if(buffered == 0 || compare(e, bufferFirst) < 0)
+				bufferFirst = e;
+			if(buffered == 0 || compare(e, bufferLast) >= 0)
+				bufferLast = e;
+			buffer[buffered++] = e;
+			contentHash += spread(e);
+			modCount++;
+			if(buffered == bufferCapacity)
+				flush();
+			return true;
+		}
+		if(bound > 0 && size == bound)
+			return addEvicting(e);
+		int index = upperBound(e);
+		if(size == list.length)
+			ensureCapacity(size + 1);
+		size++;
+		System.arraycopy(list, index, list, index + 1, size - 1 - index);
+		list[index] = e;
+		contentHash += spread(e);
+		modCount++;
+		if(sequence != null)
+		{
+			if(nextSequence == Integer.MAX_VALUE)
+				renumberSequence();
+			System.arraycopy(sequence, index, sequence, index + 1, size - 1 - index);
+			sequence[index] = nextSequence++;
+		}
+		return true;
+	}
+	
+	/**
+	 * Finds the index of the first element in the list that is not
+	 * ordered before a given element, according to the current order
+	 * of this SortedList. Runs in O(log n) time
+	 * @param e
+	 * The element to search for
+	 * @return
+	 * The index of the first element ordered at or after e, or
+	 * size() if there is no such element
+	 */
+	public int lowerBound(T e)
+	{
+		flush();
+		int low = 0;
+		int high = size;
+		while(low < high)
+		{
+			int mid = (low + high) >>> 1;
+			if(compare(list[mid], e) < 0)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+	
+	/**
+	 * Finds the index of the first element in the list that is 
+	 * ordered after a given element, according to the current order
+	 * of this SortedList. Runs in O(log n) time
+	 * @param e
+	 * The element to search for
+	 * @return
+	 * The index of the first element ordered after e, or
+	 * size() if there is no such element
+	 */
+	public int upperBound(T e)
+	{
+		flush();
+		int low = 0;
+		int high = size;
+		while(low < high)
+		{
+			int mid = (low + high) >>> 1;
+			if(compare(list[mid], e) <= 0)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+	
+	/**
+	 * Gets the greatest element in the list that is less than
+	 * or equal to a given element, regardless of the order of 
+	 * this SortedList. Runs in O(log n) time
+	 * @param e
+	 * The element to search for
+	 * @return
+	 * The greatest element less than or equal to e, or null
+	 * if there is no such element
+	 */
+	public T floor(T e)
+	{
+		int index = (ascending) ? upperBound(e) - 1 : lowerBound(e);
+		return (index >= 0 && index < size) ? list[index] : null;
+	}
+	
+	/**
+	 * Gets the least element in the list that is greater than
+	 * or equal to a given element, regardless of the order of 
+	 * this SortedList. Runs in O(log n) time
+	 * @param e
+	 * The element to search for
+	 * @return
+	 * The least element greater than or equal to e, or null
+	 * if there is no such element
+	 */
+	public T ceiling(T e)
+	{
+		int index = (ascending) ? lowerBound(e) : upperBound(e) - 1;
+		return (index >= 0 && index < size) ? list[index] : null;
+	}
+	
+	/**
+	 * Compares two elements according to the current order of
+	 * this SortedList. All comparisons go through this single
+	 * Comparator call, whichever the order
+	 * @param a
+	 * The first element to compare
+	 * @param b
+	 * The second element to compare
+	 * @return
+	 * A negative integer, zero, or a positive integer if a is
+	 * ordered before, equal to, or after b respectively
+	 */
+	private int compare(T a, T b)
+	{
+		return comparator.compare(a, b);
+	}
+	
+	/**
+	 * Grows the array so it can hold at least a given number of
+	 * elements, e.g. before a bulk load. The capacity is multiplied
+	 * by the growth factor, or raised to minCapacity if that is more,
+	 * so repeated growth stays amortized
+	 * @param minCapacity
+	 * The minimum required capacity
+	 * @throws OutOfMemoryError
+	 * If minCapacity is above MAX_CAPACITY
+	 */
+	public void ensureCapacity(int minCapacity)
+	{
+		if(minCapacity > MAX_CAPACITY || minCapacity < 0)
+			throw new OutOfMemoryError("No more elements are allowed in the List");
+		if(minCapacity <= list.length)
+			return;
+		double grown = list.length * growthFactor;
+		resize((int) Math.min(MAX_CAPACITY, Math.max(grown, minCapacity)));
+	}
+	
+	/**
+	 * Shrinks the array to the number of elements in the list (or
+	 * to the bound of a bounded list), giving back the unused capacity
+	 */
+	public void trimToSize()
+	{
+		flush();
+		int capacity = Math.max(size, bound);
+		if(capacity < list.length)
+			resize(capacity);
+	}
+	
+	/**
+	 * Shrinks the array after a removal if fewer than a quarter of
+	 * its slots are in use, leaving room to grow by the growth factor
+	 * again. The array at least halves, so a large growth factor
+	 * cannot make it shrink on every removal or grow instead. The
+	 * array never shrinks below the initial capacity, and the array
+	 * of a bounded list is never shrunk
+	 */
+	private void shrinkIfSparse()
+	{
+		if(bound > 0 || list.length <= initialCapacity || size >= list.length / SHRINK_DIVISOR)
+			return;
+		int capacity = (int) Math.max(initialCapacity, Math.min(list.length / 2, size * growthFactor));
+		if(capacity < list.length)
+			resize(capacity);
+	}
+	
+	/**
+	 * Copies the array, and the sequence numbers if tracked,
+	 * to arrays of a new length
+	 * @param capacity
+	 * The new capacity; at least size
+	 */
+	private void resize(int capacity)
+	{
+		list = Arrays.copyOf(list, capacity);
+		if(sequence != null)
+			sequence = Arrays.copyOf(sequence, capacity);
+	}
+	
+	/**
+	 * Sets the factor the array capacity is multiplied by when it
+	 * has to grow. Smaller factors waste less memory on large lists
+	 * at the cost of more frequent copying
+	 * @param factor
+	 * The growth factor; must be greater than 1
+	 * @throws IllegalArgumentException
+	 * If factor is not greater than 1
+	 */
+	public void setGrowthFactor(double factor)
+	{
+		if(!(factor > 1.0) || Double.isInfinite(factor))
+			throw new IllegalArgumentException("Illegal growth factor: " + factor);
+		growthFactor = factor;
+	}
+	
+	/**
+	 * Gets the factor the array capacity is multiplied by when it grows
+	 * @return
+	 * The growth factor
+	 */
+	public double growthFactor()
+	{
+		return growthFactor;
+	}
+	
+	/**
+	 * Swaps the elements at the given indexes in the list
+	 * @param x
+	 * The index of the first element to swap
+	 * @param y
+	 * The index of the second element to swap
+	 */
+	private void swap(int x, int y)
+	{
+		if(x == y)
+			return;
+		T temp = list[x];
+		list[x] = list[y];
+		list[y] = temp;
+		if(sequence != null)
+		{
+			int tempSequence = sequence[x];
+			sequence[x] = sequence[y];
+			sequence[y] = tempSequence;
+		}
+	}
+
+	/**
+	 * Adds all the elements of a given Collection to this SortedList.
+	 * The elements are sorted once and merged into the list in a 
+	 * single linear pass, rather than inserted one at a time
+	 * @param c
+	 * The Collection whose elements will be added
+	 * @return
+	 * True if this SortedList changed as a result of the call
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean addAll(Collection<? extends T> c) 
+	{
+		flush();
+		return addAll((T[]) c.toArray());
+	}
+	
+	/**
+	 * Bulk insertion path shared by addAll() and the var-args 
+	 * constructors. The given array is sorted (in parallel for large
+	 * arrays when insertion order is not tracked) and then merged
+	 * into the list from the back, so no element is moved more
+	 * than once. Equal elements keep their insertion order
+	 * @param items
+	 * The elements to add; this array is sorted in place
+	 * @return
+	 * True if this SortedList changed as a result of the call
+	 */
+	private boolean addAll(T[] items)
+	{
+		return addAll(items, false);
+	}
+	
+	/**
+	 * Bulk insertion path, for elements whose hashes may already
+	 * be counted in the content hash
+	 * @param items
+	 * The elements to add; this array is sorted in place
+	 * @param hashed
+	 * True if the hashes of the elements were added to the content
+	 * hash when they were buffered; see add()
+	 * @return
+	 * True if this SortedList changed as a result of the call
+	 */
+	private boolean addAll(T[] items, boolean hashed)
+	{
+		if(bound > 0 && items.length > bound)
+			items = bestOf(items);
+		int count = items.length;
+		if(count == 0)
+			return false;
+		if(count > MAX_CAPACITY - size)
+			throw new OutOfMemoryError("No more elements are allowed in the List");
+		T[] target = null;
+		int[] targetSequence = null;
+		if(bound > 0 && size + count > list.length)
+		{
+			// a bounded list keeps its array: merge into scratch arrays
+			// and copy the survivors back
+			target = list;
+			targetSequence = sequence;
+			list = Arrays.copyOf(list, size + count);
+			if(sequence != null)
+				sequence = Arrays.copyOf(sequence, size + count);
+		}
+		else
+			ensureCapacity(size + count);
+		if(!hashed)
+			for(T e : items)
+				contentHash += spread(e);
+		if(sequence == null)
+		{
+			Arrays.parallelSort(items, this::compare);
+			int i = size - 1;
+			int j = count - 1;
+			int k = size + count - 1;
+			while(j >= 0)
+			{
+				if(i >= 0 && compare(list[i], items[j]) > 0)
+					list[k--] = list[i--];
+				else
+					list[k--] = items[j--];
+			}
+		}
+		else
+		{
+			if(count > Integer.MAX_VALUE - nextSequence)
+				renumberSequence();
+			int[] sequences = new int[count];
+			for(int x = 0; x < count; x++)
+				sequences[x] = nextSequence++;
+			sort(items, sequences);
+			int i = size - 1;
+			int j = count - 1;
+			int k = size + count - 1;
+			while(j >= 0)
+			{
+				if(i >= 0 && compare(list[i], items[j]) > 0)
+				{
+					sequence[k] = sequence[i];
+					list[k--] = list[i--];
+				}
+				else
+				{
+					sequence[k] = sequences[j];
+					list[k--] = items[j--];
+				}
+			}
+		}
+		size += count;
+		modCount++;
+		if(target != null)
+		{
+			evictSurplus();
+			System.arraycopy(list, 0, target, 0, size);
+			if(sequence != null)
+				System.arraycopy(sequence, 0, targetSequence, 0, size);
+			list = target;
+			sequence = targetSequence;
+		}
+		else
+			trimToBound();
+		return true;
+	}
+	
+	/**
+	 * Stable bottom-up merge sort of an array of elements in the
+	 * order of this SortedList, carrying a parallel array of
+	 * sequence numbers along with the elements
+	 * @param items
+	 * The elements to sort
+	 * @param sequences
+	 * The sequence numbers of the elements, rearranged alongside them
+	 */
+	@SuppressWarnings("unchecked")
+	private void sort(T[] items, int[] sequences)
+	{
+		int n = items.length;
+		T[] from = items;
+		int[] fromSequences = sequences;
+		T[] to = (T[]) new Object[n];
+		int[] toSequences = new int[n];
+		for(int width = 1; width < n; width = (width > n / 2) ? n : width * 2)
+		{
+			for(int low = 0, high; low < n; low = high)
+			{
+				int mid = low + Math.min(width, n - low);
+				high = mid + Math.min(width, n - mid);
+				int i = low;
+				int j = mid;
+				int k = low;
+				while(i < mid && j < high)
+				{
+					if(compare(from[j], from[i]) < 0)
+					{
+						toSequences[k] = fromSequences[j];
+						to[k++] = from[j++];
+					}
+					else
+					{
+						toSequences[k] = fromSequences[i];
+						to[k++] = from[i++];
+					}
+				}
+				System.arraycopy(from, i, to, k, mid - i);
+				System.arraycopy(fromSequences, i, toSequences, k, mid - i);
+				k += mid - i;
+				System.arraycopy(from, j, to, k, high - j);
+				System.arraycopy(fromSequences, j, toSequences, k, high - j);
+			}
+			T[] tempItems = from;
+			from = to;
+			to = tempItems;
+			int[] tempSequences = fromSequences;
+			fromSequences = toSequences;
+			toSequences = tempSequences;
+		}
+		if(from != items)
+		{
+			System.arraycopy(from, 0, items, 0, n);
+			System.arraycopy(fromSequences, 0, sequences, 0, n);
+		}
+	}
+	
+	/**
+	 * Renumbers the sequence numbers of the elements to 0 through
+	 * size() - 1, keeping their relative order. Removed elements leave
+	 * gaps in the sequence numbers; compacting them away keeps new 
+	 * sequence numbers from overflowing and lets unsortedArray() place
+	 * each element directly at its sequence number
+	 */
+	private void renumberSequence()
+	{
+		long[] keys = new long[size];
+		for(int i = 0; i < size; i++)
+			keys[i] = ((long) sequence[i] << 32) | i;
+		Arrays.sort(keys);
+		for(int i = 0; i < size; i++)
+			sequence[(int) keys[i]] = i;
+		nextSequence = size;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void clear() 
+	{
+		int capacity = bound > 0 ? bound : initialCapacity;
+		list = (T[]) new Object[capacity];
+		if(sequence != null)
+			sequence = new int[capacity];
+		nextSequence = 0;
+		contentHash = 0;
+		size = 0;
+		if(buffered > 0)
+		{
+			Arrays.fill(buffer, 0, buffered, null);
+			buffered = 0;
+			bufferFirst = bufferLast = null;
+		}
+		modCount++;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean contains(Object o) 
+	{
+		return indexOf((T) o) != -1;
+	}
+
+	/**
+	 * Determines whether every element of a given Collection is in
+	 * this SortedList. A SortedList or naturally ordered SortedSet
+	 * is checked with a single merge pass over both; any other 
+	 * Collection is checked with a binary search per element
+	 * @param c
+	 * The Collection to check
+	 * @return
+	 * True if all the elements of c are in this SortedList
+	 */
+	@Override
+	public boolean containsAll(Collection<?> c)
+	{
+		flush();
+		T[] other = sortedArrayOf(c);
+		if(other == null)
+		{
+			for(Object o : c)
+				if(!contains(o))
+					return false;
+			return true;
+		}
+		int i = 0;
+		for(T o : other)
+		{
+			while(i < size && compare(list[i], o) < 0)
+				i++;
+			if(i == size || compare(list[i], o) != 0)
+				return false;
+		}
+		return true;
+	}
+
+	@Override
+	public boolean isEmpty() 
+	{
+		return size + buffered == 0;
+	}
+
+	@Override
+	public Iterator<T> iterator() 
+	{
+		flush();
+		return new SortedListIterator(0);
+	}
+	
+	/**
+	 * Creates a Spliterator over the backing array of this SortedList,
+	 * splitting evenly by index. It reports ORDERED, SORTED, SIZED and
+	 * SUBSIZED, so parallel streams split well and skip sorting in list
+	 * order. NONNULL is not reported: even under natural ordering a
+	 * null can be added to an empty list, as no comparison is made
+	 * @return
+	 * A Spliterator over the elements in sorted order
+	 */
+	@Override
+	public Spliterator<T> spliterator()
+	{
+		flush();
+		return new SortedListSpliterator(0, size, modCount);
+	}
+	
+	/**
+	 * Creates a bidirectional cursor over this SortedList, starting
+	 * at the first element. The cursor can move both ways and remove
+	 * elements, but not add or replace them, which would break the order
+	 * @return
+	 * A ListIterator over the elements in sorted order
+	 */
+	public ListIterator<T> listIterator()
+	{
+		flush();
+		return new SortedListIterator(0);
+	}
+	
+	/**
+	 * Creates a bidirectional cursor over this SortedList, starting
+	 * at a given index; listIterator(size()) followed by previous()
+	 * walks the list backwards without changing its order
+	 * @param index
+	 * The index of the first element returned by next()
+	 * @return
+	 * A ListIterator over the elements in sorted order
+	 */
+	public ListIterator<T> listIterator(int index)
+	{
+		flush();
+		if(index < 0 || index > size)
+			throw new ArrayIndexOutOfBoundsException();
+		return new SortedListIterator(index);
+	}
+	
+	/**
+	 * Creates an Iterator that walks this SortedList from the 
+	 * last element to the first, without changing its order
+	 * @return
+	 * An Iterator over the elements in reverse order
+	 */
+	public Iterator<T> descendingIterator()
+	{
+		ListIterator<T> cursor = listIterator(size());
+		return new Iterator<T>()
+		{
+			@Override
+			public boolean hasNext()
+			{
+				return cursor.hasPrevious();
+			}
+			
+			@Override
+			public T next()
+			{
+				return cursor.previous();
+			}
+			
+			@Override
+			public void remove()
+			{
+				cursor.remove();
+			}
+		};
+	}
+
+	/**
+	 * Removes a single instance of the given element from this 
+	 * SortedList, if it is present. The instance found first in the
+	 * list is removed; the insertion order is kept in the same array
+	 * slots, so it needs no separate search
+	 * @param o
+	 * The element to remove
+	 * @return
+	 * True if an element was removed, false if it was not present
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean remove(Object o) 
+	{
+		int index = indexOf((T) o);
+		if(index == -1)
+			return false;
+		remove(index);
+		return true;
+	}
+	
+	/**
+	 * Helper method to remove an object at a given
+	 * index in the list. Only the elements after the 
+	 * index are shifted, with a single array copy
+	 * @param index
+	 * The index to remove the object from
+	 * @return
+	 * The removed element
+	 */
+	private T remove(int index)
+	{
+		if(index < 0 || index >= size)
+			throw new ArrayIndexOutOfBoundsException();
+		T temp = list[index];
+		contentHash -= spread(temp);
+		System.arraycopy(list, index + 1, list, index, size - index - 1);
+		if(sequence != null)
+			System.arraycopy(sequence, index + 1, sequence, index, size - index - 1);
+		size--;
+		list[size] = null;
+		modCount++;
+		shrinkIfSparse();
+		return temp;
+	}
+	
+	/**
+	 * Removes all the elements in the list between two 
+	 * indexes with a single shift of the remaining elements,
+	 * e.g. removeRange(0, k) evicts the first k elements
+	 * @param fromIndex
+	 * The index of the first element to remove (inclusive)
+	 * @param toIndex
+	 * The index after the last element to remove (exclusive)
+	 */
+	public void removeRange(int fromIndex, int toIndex)
+	{
+		flush();
+		if(fromIndex < 0 || toIndex > size || fromIndex > toIndex)
+			throw new ArrayIndexOutOfBoundsException();
+		if(fromIndex == toIndex)
+			return;
+		int count = toIndex - fromIndex;
+		for(int i = fromIndex; i < toIndex; i++)
+			contentHash -= spread(list[i]);
+		System.arraycopy(list, toIndex, list, fromIndex, size - toIndex);
+		if(sequence != null)
+			System.arraycopy(sequence, toIndex, sequence, fromIndex, size - toIndex);
+		Arrays.fill(list, size - count, size, null);
+		size -= count;
+		modCount++;
+		shrinkIfSparse();
+	}
+	
+	/**
+	 * Helper method to determine the index
+	 * of a given element in the list. Uses a binary
+	 * search, returning the first of any equal elements
+	 * @param o
+	 * The object to look for
+	 * @return
+	 * The index of the desired object, -1 if
+	 * the object does not exist in the list
+	 */
+	private int indexOf(T o)
+	{
+		int index = lowerBound(o);
+		if(index < size && compare(list[index], o) == 0)
+			return index;
+		return -1;
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c)
+	{
+		return batchRemove(c, false);
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) 
+	{
+		return batchRemove(c, true);
+	}
+	
+	/**
+	 * Shared implementation of removeAll() and retainAll(), built on
+	 * removeIf(). Membership in a SortedList or SortedSet sharing this
+	 * list's ordering is found by merging the two in order, and any 
+	 * other Collection is first copied into a HashSet
+	 * @param c
+	 * The Collection of elements to remove or retain
+	 * @param retain
+	 * Whether elements found in c are retained (true) or removed (false)
+	 * @return
+	 * True if this SortedList changed as a result of the call
+	 */
+	private boolean batchRemove(Collection<?> c, boolean retain)
+	{
+		T[] other = sortedArrayOf(c);
+		if(other == null)
+		{
+			Collection<?> lookup = (c instanceof Set) ? c : new HashSet<>(c);
+			return removeIf(e -> lookup.contains(e) != retain);
+		}
+		// removeIf() tests the elements in list order, so the merge position only moves forward
+		return removeIf(new Predicate<T>()
+		{
+			private int j = 0;
+			
+			@Override
+			public boolean test(T e)
+			{
+				while(j < other.length && compare(other[j], e) < 0)
+					j++;
+				boolean found = j < other.length && compare(other[j], e) == 0;
+				return found != retain;
+			}
+		});
+	}
+	
+	/**
+	 * Removes all the elements that satisfy a given predicate,
+	 * compacting the list in place in a single pass. The predicate
+	 * is tested against the elements in list order. If it throws,
+	 * the elements not yet tested are kept
+	 * @param filter
+	 * The predicate returning true for elements to remove
+	 * @return
+	 * True if any elements were removed
+	 */
+	@Override
+	public boolean removeIf(Predicate<? super T> filter)
+	{
+		flush();
+		Objects.requireNonNull(filter);
+		int oldSize = size;
+		int kept = 0;
+		int i = 0;
+		try
+		{
+			for(; i < oldSize; i++)
+			{
+				T e = list[i];
+				if(filter.test(e))
+					contentHash -= spread(e);
+				else
+				{
+					if(sequence != null)
+						sequence[kept] = sequence[i];
+					list[kept++] = e;
+				}
+			}
+		}
+		finally
+		{
+			if(i < oldSize)
+			{
+				System.arraycopy(list, i, list, kept, oldSize - i);
+				if(sequence != null)
+					System.arraycopy(sequence, i, sequence, kept, oldSize - i);
+				kept += oldSize - i;
+			}
+			if(kept < oldSize)
+			{
+				Arrays.fill(list, kept, oldSize, null);
+				size = kept;
+				modCount++;
+				shrinkIfSparse();
+			}
+		}
+		return kept < oldSize;
+	}
+	
+	/**
+	 * Copies the elements of a Collection that is already sorted by
+	 * this SortedList's Comparator, or by its reverse, into an array
+	 * arranged in the order of this SortedList, so the two can be
+	 * merged in a single pass
+	 * @param c
+	 * The Collection to copy
+	 * @return
+	 * The elements of c in this SortedList's order, or null if c
+	 * is not a SortedList or SortedSet sharing this SortedList's ordering
+	 */
+	@SuppressWarnings("unchecked")
+	private T[] sortedArrayOf(Collection<?> c)
+	{
+		Comparator<?> otherComparator;
+		if(c instanceof SortedList)
+			otherComparator = ((SortedList<?>) c).comparator;
+		else if(c instanceof SortedSet)
+			otherComparator = ((SortedSet<?>) c).comparator();
+		else
+			return null;
+		if(otherComparator == null)
+			otherComparator = naturalOrder();
+		boolean reversed;
+		if(otherComparator.equals(comparator))
+			reversed = false;
+		else if(otherComparator.equals((ascending) ? order.reversed() : order))
+			reversed = true;
+		else
+			return null;
+		T[] other = (T[]) c.toArray();
+		if(reversed)
+			for(int i = 0, j = other.length - 1; i < j; i++, j--)
+			{
+				T temp = other[i];
+				other[i] = other[j];
+				other[j] = temp;
+			}
+		return other;
+	}
+
+	@Override
 	public Object[] toArray() 
 	{
+		flush();
 		return Arrays.copyOf(list, size);
 	}
 
@@ -505,7 +1637,13 @@ public class SortedList<T extends Comparable<T>> implements Collection<T>, Seria
 	@Override
 	public <T> T[] toArray(T[] a) 
 	{
-		return (T[]) Arrays.copyOf(list, a.length);
+		flush();
+		if(a.length < size)
+			return (T[]) Arrays.copyOf(list, size, a.getClass());
+		System.arraycopy(list, 0, a, 0, size);
+		if(a.length > size)
+			a[size] = null;
+		return a;
 	}
 	
 	/**
@@ -514,10 +1652,20 @@ public class SortedList<T extends Comparable<T>> implements Collection<T>, Seria
 	 * order
 	 * @return
 	 * The unsorted array of elements
+	 * @throws UnsupportedOperationException
+	 * If this SortedList does not track insertion order
 	 */
 	public Object[] unsortedArray() 
 	{
-		return Arrays.copyOf(unsortedList, size);
+		flush();
+		if(sequence == null)
+			throw new UnsupportedOperationException("Insertion order is not tracked by this SortedList");
+		if(nextSequence != size)
+			renumberSequence();
+		Object[] unsorted = new Object[size];
+		for(int i = 0; i < size; i++)
+			unsorted[sequence[i]] = list[i];
+		return unsorted;
 	}
 	
 	/**
@@ -530,18 +1678,96 @@ public class SortedList<T extends Comparable<T>> implements Collection<T>, Seria
 	 */
 	public void setOrder(boolean ascending)
 	{
+		flush();
 		if(ascending == this.ascending)
 			return;
 		this.ascending = ascending;
-		for(int i = 0; i < size / 2; i++)
-			swap(i, size - 1 - i);
+		comparator = (ascending) ? order : order.reversed();
+		modCount++;
+		reverse(0, size);
+		// restore insertion order within runs of equal elements
+		int start = 0;
+		for(int i = 1; i <= size; i++)
+		{
+			if(i == size || compare(list[i], list[start]) != 0)
+			{
+				reverse(start, i);
+				start = i;
+			}
+		}
 	}
 	
-	@SuppressWarnings("unchecked")
+	/**
+	 * Reverses the elements of the list between two indexes
+	 * @param fromIndex
+	 * The index of the first element to reverse (inclusive)
+	 * @param toIndex
+	 * The index after the last element to reverse (exclusive)
+	 */
+	private void reverse(int fromIndex, int toIndex)
+	{
+		for(int i = fromIndex, j = toIndex - 1; i < j; i++, j--)
+			swap(i, j);
+	}
+	
+	/**
+	 * Determines whether this SortedList holds the same elements
+	 * as another in the same positions. The cheap checks (identity,
+	 * type, size and the cached hash code) are made first, so the
+	 * element by element comparison only runs when they all pass
+	 * @param o
+	 * The object to compare with
+	 * @return
+	 * True if o is a SortedList with equal elements in the same order
+	 */
+	@Override
 	public boolean equals(Object o)
 	{
-		o = (SortedList<T>) o;
-		return this.hashCode() == o.hashCode();
+		if(o == this)
+			return true;
+		if(!(o instanceof SortedList))
+			return false;
+		SortedList<?> other = (SortedList<?>) o;
+		flush();
+		other.flush();
+		if(size != other.size || contentHash != other.contentHash)
+			return false;
+		return Arrays.equals(list, 0, size, other.list, 0, size);
+	}
+	
+	/**
+	 * Determines whether this SortedList holds the same elements
+	 * as another, regardless of whether either is in ascending or
+	 * descending order
+	 * @param other
+	 * The SortedList to compare with
+	 * @return
+	 * True if other holds equal elements once put in the same order
+	 */
+	public boolean equalsIgnoreOrder(SortedList<?> other)
+	{
+		if(other == this)
+			return true;
+		if(other == null)
+			return false;
+		flush();
+		other.flush();
+		if(size != other.size || contentHash != other.contentHash)
+			return false;
+		if(ascending == other.ascending)
+			return Arrays.equals(list, 0, size, other.list, 0, size);
+		// other is this list reversed, except that runs of equal elements keep insertion order in both
+		int start = 0;
+		for(int i = 1; i <= size; i++)
+		{
+			if(i == size || compare(list[i], list[start]) != 0)
+			{
+				if(!Arrays.equals(list, start, i, other.list, size - i, size - start))
+					return false;
+				start = i;
+			}
+		}
+		return true;
 	}
 	
 	public String toString()
@@ -560,83 +1786,443 @@ public class SortedList<T extends Comparable<T>> implements Collection<T>, Seria
 	 */
 	public String toString(boolean sorted)
 	{
-		if(size == 0)
-			return "[]";
-		T[] temp = (sorted) ? list : unsortedList;
-		String info = "[";
-		for (int i = 0; i < size; i++) 
-			info += temp[i].toString() + ", ";
-		return info.substring(0, info.length() - 2) + "]";
+		flush();
+		StringBuilder info = new StringBuilder((int) Math.min(size * 8L + 2, MAX_CAPACITY));
+		try
+		{
+			append(info, sorted, size);
+		}
+		catch(IOException e)
+		{
+			throw new UncheckedIOException(e); // StringBuilder never throws
+		}
+		return info.toString();
 	}
 	
-	public int hashCode()
+	/**
+	 * Appends the String representation of this SortedList, in
+	 * sorted order, to a given Appendable one element at a time,
+	 * without building the whole String first
+	 * @param out
+	 * The Appendable to write to
+	 * @return
+	 * The given Appendable
+	 * @throws IOException
+	 * If out throws an IOException
+	 */
+	public <A extends Appendable> A appendTo(A out) throws IOException
 	{
-		long seed = System.currentTimeMillis();
-		boolean negative = ascending;
-		for(int i = 1; i <= size; i++)
+		flush();
+		return append(out, true, size);
+	}
+	
+	/**
+	 * Writes the String representation of this SortedList, in
+	 * sorted order, to a given Writer, stopping after a given
+	 * number of elements. A truncated list ends with the count
+	 * of elements left out, e.g. [1, 2, ... (98 more)]
+	 * @param out
+	 * The Writer to write to; it is neither flushed nor closed
+	 * @param maxElements
+	 * The maximum number of elements to write
+	 * @throws IOException
+	 * If out throws an IOException
+	 */
+	public void writeTo(Writer out, int maxElements) throws IOException
+	{
+		if(maxElements < 0)
+			throw new IllegalArgumentException("maxElements must not be negative");
+		append(out, true, maxElements);
+	}
+	
+	/**
+	 * Shared implementation of toString(), appendTo() and writeTo()
+	 * @param out
+	 * The Appendable to write to
+	 * @param sorted
+	 * Whether the elements are written in sorted order (true)
+	 * or insertion order (false)
+	 * @param maxElements
+	 * The maximum number of elements to write
+	 * @return
+	 * The given Appendable
+	 * @throws IOException
+	 * If out throws an IOException
+	 */
+	private <A extends Appendable> A append(A out, boolean sorted, int maxElements) throws IOException
+	{
+		flush();
+		Object[] temp = (sorted) ? list : unsortedArray();
+		int count = Math.min(size, maxElements);
+		out.append('[');
+		for(int i = 0; i < count; i++)
 		{
-			if(!negative)
-				seed += (list[i - 1].hashCode() % list.length) + Math.pow(i, 2);
-			else
-				seed -= (list[i - 1].hashCode() % list.length) + Math.pow(i, 2);
-			negative = !negative;
-		}	
-		String binaryString = "";
-		Random generator = new Random(seed);
-		for(int i = 0; i < 31; i++)
-			binaryString += (generator.nextBoolean()) ? "0" : "1";
-		return Integer.parseInt(binaryString, 2);
+			if(i > 0)
+				out.append(", ");
+			out.append(String.valueOf(temp[i]));
+		}
+		if(count < size)
+			out.append((count > 0) ? ", ... (" : "... (").append(String.valueOf(size - count)).append(" more)");
+		out.append(']');
+		return out;
+	}
+	
+	/**
+	 * Hash code based on the contents of this SortedList. The hash
+	 * is kept up to date as elements are added and removed, so this
+	 * runs in O(1) time; it does not depend on the order of the list,
+	 * and it does not see changes made to elements after they were added.
+	 * Buffered elements are counted when they are added, so the
+	 * insertion buffer is not merged
+	 * @return
+	 * This SortedList's hash code
+	 */
+	public int hashCode()
+	{
+		return contentHash;
+	}
+	
+	/**
+	 * Spreads the hash code of an element so the sum of
+	 * many element hashes does not cluster
+	 * @param e
+	 * The element to hash
+	 * @return
+	 * The spread hash code of e
+	 */
+	private static int spread(Object e)
+	{
+		int h = Objects.hashCode(e) * 0x9E3779B9;
+		return h ^ (h >>> 16);
 	}
 	
 	/**
 	 * Creates a hash code in the form of a String for this 
-	 * Sorted List
+	 * Sorted List. The String is a pure function of hashCode(),
+	 * so it holds no shared state and is safe to call from 
+	 * many threads at once
 	 * @return
 	 * This SortedList's hash code
 	 */
 	public String hashString()
 	{
-		hasher.setSeed(hashCode());
-		String hash = "";
+		char[] hash = new char[HASH_STRING_LENGTH];
+		long state = hashCode();
+		long bits = 0;
 		for(int i = 0; i < HASH_STRING_LENGTH; i++)
-			hash += base64.charAt(hasher.nextInt(base64.length()));
-		return hash;
+		{
+			if(i % 10 == 0) // each mixed long supplies 10 characters of 6 bits
+			{
+				state += 0x9E3779B97F4A7C15L;
+				bits = mix(state);
+			}
+			hash[i] = base64.charAt((int) (bits & 63));
+			bits >>>= 6;
+		}
+		return new String(hash);
 	}
 	
 	/**
-	 * Iterator implementation for SortedList, allowing 
-	 * for-each loop use
+	 * SplitMix64 finalizer, scrambling the bits of a
+	 * long so similar inputs give unrelated outputs
+	 * @param z
+	 * The value to scramble
+	 * @return
+	 * The scrambled value
+	 */
+	private static long mix(long z)
+	{
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+	
+	/**
+	 * Writes this SortedList to a stream. Only the size() elements
+	 * are written, not the unused capacity of the array, and the
+	 * insertion order is only written if it is tracked
+	 * @serialData
+	 * The default fields, then whether insertion order is tracked
+	 * (boolean), then the elements in sorted order, then (if tracked)
+	 * the sequence number of each element (int)
+	 * @param out
+	 * The stream to write to
+	 * @throws IOException
+	 * If the stream cannot be written to
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException
+	{
+		flush();
+		out.defaultWriteObject();
+		out.writeBoolean(sequence != null);
+		for(int i = 0; i < size; i++)
+			out.writeObject(list[i]);
+		if(sequence != null)
+			for(int i = 0; i < size; i++)
+				out.writeInt(sequence[i]);
+	}
+	
+	/**
+	 * Reads a SortedList written by writeObject(). The elements are
+	 * already in sorted order, so the array is filled directly, only
+	 * checking the order rather than sorting again
+	 * @param in
+	 * The stream to read from
+	 * @throws IOException
+	 * If the stream cannot be read from
+	 * @throws ClassNotFoundException
+	 * If the class of an element cannot be found
+	 */
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+	{
+		in.defaultReadObject();
+		boolean tracked = in.readBoolean();
+		if(size < 0 || size >= MAX_CAPACITY || order == null)
+			throw new InvalidObjectException("Corrupt SortedList");
+		comparator = (ascending) ? order : order.reversed();
+		if(growthFactor == 0)
+			growthFactor = DEFAULT_GROWTH_FACTOR; // written before the growth factor was configurable
+		else if(!(growthFactor > 1.0) || Double.isInfinite(growthFactor))
+			throw new InvalidObjectException("Corrupt SortedList");
+		if(initialCapacity < 0 || bufferCapacity < 0 || bound < 0 || bound > MAX_CAPACITY)
+			throw new InvalidObjectException("Corrupt SortedList");
+		if(bound > 0 && (bufferCapacity > 0 || size > bound))
+			throw new InvalidObjectException("Corrupt SortedList");
+		list = (T[]) new Object[(bound > 0) ? bound : Math.max(size, Math.min(initialCapacity, DEFAULT_CAPACITY))];
+		for(int i = 0; i < size; i++)
+		{
+			list[i] = (T) in.readObject();
+			if(i > 0 && compare(list[i - 1], list[i]) > 0)
+				throw new InvalidObjectException("SortedList elements are out of order");
+			contentHash += spread(list[i]);
+		}
+		if(tracked)
+		{
+			sequence = new int[list.length];
+			for(int i = 0; i < size; i++)
+			{
+				sequence[i] = in.readInt();
+				if(sequence[i] < 0 || sequence[i] >= nextSequence)
+					throw new InvalidObjectException("Corrupt SortedList");
+			}
+		}
+	}
+	
+	/**
+	 * Spliterator implementation for SortedList, covering a range
+	 * of indexes of the backing array. Fails fast with a 
+	 * ConcurrentModificationException if the list is modified
 	 */
-	@SuppressWarnings("hiding")
-	private class SortedListIterator<T extends Comparable<T>> implements Iterator<T> 
+	private class SortedListSpliterator implements Spliterator<T>
 	{
-		private SortedList<T> list;
+		/**
+		 * Index of the next element to traverse
+		 */
 		private int index;
-		private T current;
+		
+		/**
+		 * Index after the last element to traverse
+		 */
+		private final int fence;
+		
+		/**
+		 * The modCount of the list this spliterator expects to see
+		 */
+		private final int expectedModCount;
+		
+		/**
+		 * Creates a Spliterator over a range of the list
+		 * @param index
+		 * The index of the first element (inclusive)
+		 * @param fence
+		 * The index after the last element (exclusive)
+		 * @param expectedModCount
+		 * The modCount of the list when the range was taken
+		 */
+		SortedListSpliterator(int index, int fence, int expectedModCount)
+		{
+			this.index = index;
+			this.fence = fence;
+			this.expectedModCount = expectedModCount;
+		}
+		
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action)
+		{
+			Objects.requireNonNull(action);
+			if(index >= fence)
+				return false;
+			T e = list[index++];
+			action.accept(e);
+			if(modCount != expectedModCount)
+				throw new ConcurrentModificationException();
+			return true;
+		}
+		
+		@Override
+		public void forEachRemaining(Consumer<? super T> action)
+		{
+			Objects.requireNonNull(action);
+			T[] elements = list;
+			for(int i = index; i < fence; i++)
+				action.accept(elements[i]);
+			index = fence;
+			if(modCount != expectedModCount)
+				throw new ConcurrentModificationException();
+		}
+		
+		@Override
+		public Spliterator<T> trySplit()
+		{
+			int mid = (index + fence) >>> 1;
+			if(mid <= index)
+				return null;
+			Spliterator<T> prefix = new SortedListSpliterator(index, mid, expectedModCount);
+			index = mid;
+			return prefix;
+		}
+		
+		@Override
+		public long estimateSize()
+		{
+			return fence - index;
+		}
+		
+		@Override
+		public int characteristics()
+		{
+			return ORDERED | SORTED | SIZED | SUBSIZED;
+		}
+		
+		/**
+		 * Gets the Comparator the elements are sorted by; null when
+		 * they are in ascending natural order, as Spliterator requires
+		 */
+		@Override
+		public Comparator<? super T> getComparator()
+		{
+			return (ascending && order == naturalOrder()) ? null : comparator;
+		}
+	}
+	
+	/**
+	 * Iterator implementation for SortedList, allowing 
+	 * for-each loop use. Reads the backing array directly and
+	 * fails fast with a ConcurrentModificationException if the
+	 * list is modified other than through the iterator itself
+	 */
+	private class SortedListIterator implements ListIterator<T> 
+	{
+		/**
+		 * Index of the element returned by the next call to next()
+		 */
+		private int cursor;
+		
+		/**
+		 * Index of the element returned by the last call to next()
+		 * or previous(); -1 if there is none or it was removed
+		 */
+		private int lastReturned;
+		
+		/**
+		 * The modCount of the list this iterator expects to see
+		 */
+		private int expectedModCount;
 		
 		/**
 		 * <p> Creates an Iterator for the SortedList data structure,
 		 * allowing SortedList to be iterable in a for-each loop 
-		 * @param list
-		 * The SortedList object being iterated through
+		 * @param index
+		 * The index of the first element returned by next()
 		 */
-		public SortedListIterator(SortedList<T> list) 
+		public SortedListIterator(int index) 
 		{
-			this.list = list;
-			index = 0;
-			current = this.list.get(index);
+			cursor = index;
+			lastReturned = -1;
+			expectedModCount = modCount;
 		}
 
 		@Override
-		public boolean hasNext() {
-			return index != list.size();
+		public boolean hasNext()
+		{
+			return cursor < size;
 		}
 
 		@Override
-		public T next() {
-			current = list.get(index);
-			index++;
-			return current;
+		public T next()
+		{
+			checkForComodification();
+			if(cursor >= size)
+				throw new NoSuchElementException();
+			lastReturned = cursor++;
+			return list[lastReturned];
+		}
+		
+		@Override
+		public boolean hasPrevious()
+		{
+			return cursor > 0;
+		}
+		
+		@Override
+		public T previous()
+		{
+			checkForComodification();
+			if(cursor <= 0)
+				throw new NoSuchElementException();
+			lastReturned = --cursor;
+			return list[lastReturned];
+		}
+		
+		@Override
+		public int nextIndex()
+		{
+			return cursor;
+		}
+		
+		@Override
+		public int previousIndex()
+		{
+			return cursor - 1;
+		}
+		
+		/**
+		 * Removes the element last returned by next() or previous(),
+		 * shifting only the elements after it
+		 */
+		@Override
+		public void remove()
+		{
+			if(lastReturned < 0)
+				throw new IllegalStateException();
+			checkForComodification();
+			SortedList.this.remove(lastReturned);
+			cursor = lastReturned;
+			lastReturned = -1;
+			expectedModCount = modCount;
+		}
+		
+		@Override
+		public void set(T e)
+		{
+			throw new UnsupportedOperationException("Elements of a SortedList cannot be replaced in place");
+		}
+		
+		@Override
+		public void add(T e)
+		{
+			throw new UnsupportedOperationException("Elements of a SortedList are added in sorted order with add()");
+		}
+		
+		/**
+		 * Throws a ConcurrentModificationException if the
+		 * list was modified other than through this iterator
+		 */
+		private void checkForComodification()
+		{
+			if(modCount != expectedModCount)
+				throw new ConcurrentModificationException();
 		}
 	}
-}
\ No newline at end of file
+}
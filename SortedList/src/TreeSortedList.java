@@ -0,0 +1,1014 @@
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * ************************************************************************
+ *
+ * <p> A sorted list stored in a B+-tree, for lists too large to keep
+ * shifting a single array. Every branch records how many elements each
+ * of its subtrees holds, so get(int), add(), remove(), contains() and
+ * rank() all run in O(log n) time. Elements live in the leaves, which
+ * are linked so iteration walks them in order without going back up
+ * the tree.
+ *
+ * <p> The first and last leaves are kept at hand, so getMin() and
+ * getMax() take O(1) time, as in a SortedList. Like a SortedList,
+ * duplicates are allowed and equal elements stay in insertion order.
+ *
+ * @author Gabriel Toro
+ *
+ * @see SortedList
+ * @see BlockedSortedList
+ *
+ * @param <T>
+ * The generic type of the list; <strong> MUST implement Comparable </strong>
+ * for sorting to function properly unless a Comparator is given
+ *
+ * ************************************************************************
+ */
+public class TreeSortedList<T> implements Collection<T>, Serializable
+{
+	/**
+	 * ID for verification during serialization
+	 */
+	private static final long serialVersionUID = 3381906724460127413L;
+	
+	/**
+	 * Maximum number of elements per leaf
+	 */
+	private static final int LEAF_CAPACITY = 64;
+	
+	/**
+	 * Maximum number of children per branch
+	 */
+	private static final int BRANCH_CAPACITY = 64;
+	
+	/**
+	 * Root of the tree; an empty leaf if the list is empty
+	 */
+	private transient Node<T> root;
+	
+	/**
+	 * The leftmost leaf, holding the first element of the list
+	 */
+	private transient Leaf<T> head;
+	
+	/**
+	 * The rightmost leaf, holding the last element of the list
+	 */
+	private transient Leaf<T> tail;
+	
+	/**
+	 * The size of this TreeSortedList - the count of elements
+	 * over all leaves
+	 */
+	private transient int size;
+	
+	/**
+	 * Stores whether or not this TreeSortedList is sorted in
+	 * ascending (true) or descending (false) order
+	 */
+	private final boolean ascending;
+	
+	/**
+	 * The Comparator the elements of the list are sorted by,
+	 * already reversed if the list is descending
+	 */
+	private final Comparator<? super T> comparator;
+	
+	/**
+	 * Number of structural modifications, used by iterators
+	 * to detect concurrent modification
+	 */
+	private transient int modCount;
+	
+	/**
+	 * Default constructor; creates a TreeSortedList
+	 * with ascending order
+	 */
+	public TreeSortedList()
+	{
+		this(null, true);
+	}
+	
+	/**
+	 * Creates a TreeSortedList with a given order
+	 * @param ascendingOrder
+	 * The desired order for the list:
+	 * ascending order if true, descending if false
+	 */
+	public TreeSortedList(boolean ascendingOrder)
+	{
+		this(null, ascendingOrder);
+	}
+	
+	/**
+	 * Creates a TreeSortedList in ascending order
+	 * from a given Collection
+	 * @param c
+	 * The Collection to create the list from
+	 */
+	public TreeSortedList(Collection<? extends T> c)
+	{
+		this(null, true);
+		addAll(c);
+	}
+	
+	/**
+	 * Creates a TreeSortedList ordered by a given Comparator
+	 * @param comparator
+	 * The Comparator defining the ascending order of elements,
+	 * or null to use their natural ordering
+	 * @param ascendingOrder
+	 * The desired order for the list:
+	 * ascending order if true, descending if false
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public TreeSortedList(Comparator<? super T> comparator, boolean ascendingOrder)
+	{
+		Comparator<? super T> order = (comparator != null) ? comparator : (Comparator) Comparator.naturalOrder();
+		this.comparator = ascendingOrder ? order : order.reversed();
+		this.ascending = ascendingOrder;
+		reset();
+	}
+	
+	/**
+	 * Empties the tree
+	 */
+	private void reset()
+	{
+		head = tail = new Leaf<>();
+		root = head;
+		size = 0;
+	}
+	
+	/**
+	 * Gets and returns the element in the list at
+	 * a given index. Runs in O(log n) time
+	 * @param index
+	 * The index to look for the element at
+	 * @return
+	 * The element at the given index
+	 */
+	public T get(int index)
+	{
+		if(index < 0 || index >= size)
+			throw new ArrayIndexOutOfBoundsException(index);
+		Node<T> node = root;
+		while(node instanceof Branch)
+		{
+			Branch<T> branch = (Branch<T>) node;
+			int i = 0;
+			while(index >= branch.counts[i])
+				index -= branch.counts[i++];
+			node = branch.children[i];
+		}
+		return ((Leaf<T>) node).keys[index];
+	}
+	
+	/**
+	 * Gets the minimum-value element in the list
+	 * @return
+	 * The minimum-value element in the list
+	 */
+	public T getMin()
+	{
+		if(size == 0)
+			throw new IllegalAccessError("There are no elements in the list");
+		return ascending ? head.keys[0] : tail.keys[tail.n - 1];
+	}
+	
+	/**
+	 * Gets the maximum-value element in the list
+	 * @return
+	 * The maximum-value element in the list
+	 */
+	public T getMax()
+	{
+		if(size == 0)
+			throw new IllegalAccessError("There are no elements in the list");
+		return ascending ? tail.keys[tail.n - 1] : head.keys[0];
+	}
+	
+	@Override
+	public int size()
+	{
+		return size;
+	}
+	
+	@Override
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+	
+	/**
+	 * Gets whether this TreeSortedList is sorted in ascending order
+	 * @return
+	 * True if ascending, false if descending
+	 */
+	public boolean isAscending()
+	{
+		return ascending;
+	}
+	
+	/**
+	 * Gets the rank of an element: the number of elements in the list
+	 * ordered before it, which is its index if it is in the list.
+	 * Runs in O(log n) time
+	 * @param e
+	 * The element to rank
+	 * @return
+	 * The number of elements ordered before e
+	 */
+	public int rank(T e)
+	{
+		return lowerBound(e);
+	}
+	
+	/**
+	 * Finds the index of the first element in the list that is not
+	 * ordered before a given element, according to the order of
+	 * this list. Runs in O(log n) time
+	 * @param e
+	 * The element to search for
+	 * @return
+	 * The index of the first element ordered at or after e, or
+	 * size() if there is no such element
+	 */
+	public int lowerBound(T e)
+	{
+		return bound(e, false);
+	}
+	
+	/**
+	 * Finds the index of the first element in the list that is
+	 * ordered after a given element, according to the order of
+	 * this list. Runs in O(log n) time
+	 * @param e
+	 * The element to search for
+	 * @return
+	 * The index of the first element ordered after e, or
+	 * size() if there is no such element
+	 */
+	public int upperBound(T e)
+	{
+		return bound(e, true);
+	}
+	
+	/**
+	 * Shared implementation of lowerBound() and upperBound()
+	 * @param e
+	 * The element to search for
+	 * @param upper
+	 * Whether elements equal to e are skipped
+	 * @return
+	 * The index of the bound
+	 */
+	private int bound(T e, boolean upper)
+	{
+		int index = 0;
+		Node<T> node = root;
+		while(node instanceof Branch)
+		{
+			Branch<T> branch = (Branch<T>) node;
+			int i = route(branch, e, upper);
+			for(int j = 0; j < i; j++)
+				index += branch.counts[j];
+			node = branch.children[i];
+		}
+		Leaf<T> leaf = (Leaf<T>) node;
+		return index + search(leaf.keys, leaf.n, e, upper);
+	}
+	
+	/**
+	 * Picks the child of a branch to descend into: the last one whose
+	 * first element is ordered before (lower) or at or before (upper)
+	 * a given element, or the first child if there is none
+	 * @param branch
+	 * The branch
+	 * @param e
+	 * The element to search for
+	 * @param upper
+	 * Whether elements equal to e are skipped
+	 * @return
+	 * The index of the child
+	 */
+	private int route(Branch<T> branch, T e, boolean upper)
+	{
+		int low = 1;
+		int high = branch.n;
+		while(low < high)
+		{
+			int mid = (low + high) >>> 1;
+			int c = comparator.compare(branch.firsts[mid], e);
+			if(c < 0 || (upper && c == 0))
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low - 1;
+	}
+	
+	/**
+	 * Binary search within a leaf
+	 * @param keys
+	 * The elements of the leaf
+	 * @param n
+	 * The number of elements in the leaf
+	 * @param e
+	 * The element to search for
+	 * @param upper
+	 * Whether elements equal to e are skipped
+	 * @return
+	 * The index of the first element ordered at or after (lower)
+	 * or strictly after (upper) e
+	 */
+	private int search(T[] keys, int n, T e, boolean upper)
+	{
+		int low = 0;
+		int high = n;
+		while(low < high)
+		{
+			int mid = (low + high) >>> 1;
+			int c = comparator.compare(keys[mid], e);
+			if(c < 0 || (upper && c == 0))
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+	
+	/**
+	 * Adds an element to the list in sorted order, after any
+	 * elements equal to it. Runs in O(log n) time
+	 */
+	@Override
+	public boolean add(T e)
+	{
+		Node<T> sibling = insert(root, e);
+		if(sibling != null)
+		{
+			Branch<T> branch = new Branch<>();
+			branch.insert(0, root, count(root));
+			branch.insert(1, sibling, count(sibling));
+			root = branch;
+		}
+		size++;
+		modCount++;
+		return true;
+	}
+	
+	/**
+	 * Inserts an element into a subtree
+	 * @param node
+	 * The root of the subtree
+	 * @param e
+	 * The element to insert
+	 * @return
+	 * The new right sibling of node if node had to be split, else null
+	 */
+	private Node<T> insert(Node<T> node, T e)
+	{
+		if(node instanceof Leaf)
+		{
+			Leaf<T> leaf = (Leaf<T>) node;
+			int index = search(leaf.keys, leaf.n, e, true);
+			System.arraycopy(leaf.keys, index, leaf.keys, index + 1, leaf.n - index);
+			leaf.keys[index] = e;
+			leaf.n++;
+			return (leaf.n > LEAF_CAPACITY) ? split(leaf) : null;
+		}
+		Branch<T> branch = (Branch<T>) node;
+		int i = route(branch, e, true);
+		if(comparator.compare(e, branch.firsts[i]) < 0)
+			branch.firsts[i] = e; // only possible for the first child
+		branch.counts[i]++;
+		Node<T> sibling = insert(branch.children[i], e);
+		if(sibling == null)
+			return null;
+		int moved = count(sibling);
+		branch.counts[i] -= moved;
+		branch.insert(i + 1, sibling, moved);
+		return (branch.n > BRANCH_CAPACITY) ? split(branch) : null;
+	}
+	
+	/**
+	 * Moves the upper half of an overfull leaf to a new leaf after it
+	 * @param leaf
+	 * The leaf to split
+	 * @return
+	 * The new leaf
+	 */
+	private Leaf<T> split(Leaf<T> leaf)
+	{
+		Leaf<T> right = new Leaf<>();
+		int keep = leaf.n / 2;
+		right.n = leaf.n - keep;
+		System.arraycopy(leaf.keys, keep, right.keys, 0, right.n);
+		Arrays.fill(leaf.keys, keep, leaf.n, null);
+		leaf.n = keep;
+		right.next = leaf.next;
+		if(right.next != null)
+			right.next.prev = right;
+		else
+			tail = right;
+		right.prev = leaf;
+		leaf.next = right;
+		return right;
+	}
+	
+	/**
+	 * Moves the upper half of an overfull branch to a new branch
+	 * @param branch
+	 * The branch to split
+	 * @return
+	 * The new branch
+	 */
+	private Branch<T> split(Branch<T> branch)
+	{
+		Branch<T> right = new Branch<>();
+		int keep = branch.n / 2;
+		branch.moveTo(keep, branch.n - keep, right, 0);
+		return right;
+	}
+	
+	/**
+	 * Counts the elements in a subtree
+	 * @param node
+	 * The root of the subtree
+	 * @return
+	 * The number of elements under node
+	 */
+	private static <T> int count(Node<T> node)
+	{
+		if(node instanceof Leaf)
+			return node.n;
+		Branch<T> branch = (Branch<T>) node;
+		int count = 0;
+		for(int i = 0; i < branch.n; i++)
+			count += branch.counts[i];
+		return count;
+	}
+	
+	/**
+	 * Adds all elements of a Collection, rebuilding the tree bottom-up
+	 * from a single sorted pass instead of inserting one at a time
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean addAll(Collection<? extends T> c)
+	{
+		Object[] added = c.toArray();
+		if(added.length == 0)
+			return false;
+		if(added.length > SortedList.MAX_CAPACITY - size)
+			throw new IllegalStateException("Too many elements for a TreeSortedList");
+		T[] all = (T[]) new Object[size + added.length];
+		copyTo(all);
+		System.arraycopy(added, 0, all, size, added.length);
+		// stable, and the existing elements already form a sorted run
+		Arrays.sort(all, comparator);
+		build(all, all.length);
+		return true;
+	}
+	
+	/**
+	 * Replaces the contents of the list with sorted elements, filling
+	 * every level of the tree evenly
+	 * @param sorted
+	 * The elements, in the order of this list
+	 * @param count
+	 * The number of elements of sorted to use
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void build(T[] sorted, int count)
+	{
+		reset();
+		modCount++;
+		if(count == 0)
+			return;
+		int leaves = (count + LEAF_CAPACITY - 1) / LEAF_CAPACITY;
+		Node<T>[] level = new Node[leaves];
+		Leaf<T> previous = null;
+		for(int i = 0; i < leaves; i++)
+		{
+			int from = (int) ((long) i * count / leaves);
+			int to = (int) ((long) (i + 1) * count / leaves);
+			Leaf<T> leaf = new Leaf<>();
+			System.arraycopy(sorted, from, leaf.keys, 0, to - from);
+			leaf.n = to - from;
+			leaf.prev = previous;
+			if(previous != null)
+				previous.next = leaf;
+			else
+				head = leaf;
+			previous = leaf;
+			level[i] = leaf;
+		}
+		tail = previous;
+		while(level.length > 1)
+		{
+			int branches = (level.length + BRANCH_CAPACITY - 1) / BRANCH_CAPACITY;
+			Node<T>[] parents = new Node[branches];
+			for(int i = 0; i < branches; i++)
+			{
+				int from = (int) ((long) i * level.length / branches);
+				int to = (int) ((long) (i + 1) * level.length / branches);
+				Branch<T> branch = new Branch<>();
+				for(int j = from; j < to; j++)
+					branch.insert(j - from, level[j], count(level[j]));
+				parents[i] = branch;
+			}
+			level = parents;
+		}
+		root = level[0];
+		size = count;
+	}
+	
+	/**
+	 * Removes the element at a given index. Runs in O(log n) time
+	 * @param index
+	 * The index of the element to remove
+	 */
+	private void remove(int index)
+	{
+		remove(root, index);
+		if(root instanceof Branch && root.n == 1)
+			root = ((Branch<T>) root).children[0];
+		size--;
+		modCount++;
+	}
+	
+	/**
+	 * Removes the element at a given index of a subtree, refilling
+	 * any child that drops below half full from a neighbour
+	 * @param node
+	 * The root of the subtree
+	 * @param index
+	 * The index of the element within the subtree
+	 */
+	private void remove(Node<T> node, int index)
+	{
+		if(node instanceof Leaf)
+		{
+			Leaf<T> leaf = (Leaf<T>) node;
+			leaf.n--;
+			System.arraycopy(leaf.keys, index + 1, leaf.keys, index, leaf.n - index);
+			leaf.keys[leaf.n] = null;
+			return;
+		}
+		Branch<T> branch = (Branch<T>) node;
+		int i = 0;
+		while(index >= branch.counts[i])
+			index -= branch.counts[i++];
+		Node<T> child = branch.children[i];
+		remove(child, index);
+		branch.counts[i]--;
+		if(child.n > 0)
+			branch.firsts[i] = child.first();
+		int capacity = (child instanceof Leaf) ? LEAF_CAPACITY : BRANCH_CAPACITY;
+		if(child.n < capacity / 2 && branch.n > 1)
+			rebalance(branch, (i > 0) ? i - 1 : i);
+	}
+	
+	/**
+	 * Merges two neighbouring children of a branch if they fit in one
+	 * node, or else evens out their sizes
+	 * @param branch
+	 * The parent of the two children
+	 * @param i
+	 * The index of the left child
+	 */
+	private void rebalance(Branch<T> branch, int i)
+	{
+		Node<T> left = branch.children[i];
+		Node<T> right = branch.children[i + 1];
+		int total = left.n + right.n;
+		if(left instanceof Leaf)
+		{
+			Leaf<T> l = (Leaf<T>) left;
+			Leaf<T> r = (Leaf<T>) right;
+			if(total <= LEAF_CAPACITY)
+			{
+				System.arraycopy(r.keys, 0, l.keys, l.n, r.n);
+				l.n = total;
+				r.n = 0;
+				l.next = r.next;
+				if(l.next != null)
+					l.next.prev = l;
+				else
+					tail = l;
+			}
+			else if(l.n > total / 2)
+			{
+				int moved = l.n - total / 2;
+				System.arraycopy(r.keys, 0, r.keys, moved, r.n);
+				System.arraycopy(l.keys, total / 2, r.keys, 0, moved);
+				Arrays.fill(l.keys, total / 2, l.n, null);
+				l.n -= moved;
+				r.n += moved;
+			}
+			else
+			{
+				int moved = total / 2 - l.n;
+				System.arraycopy(r.keys, 0, l.keys, l.n, moved);
+				System.arraycopy(r.keys, moved, r.keys, 0, r.n - moved);
+				Arrays.fill(r.keys, r.n - moved, r.n, null);
+				l.n += moved;
+				r.n -= moved;
+			}
+		}
+		else
+		{
+			Branch<T> l = (Branch<T>) left;
+			Branch<T> r = (Branch<T>) right;
+			if(total <= BRANCH_CAPACITY)
+				r.moveTo(0, r.n, l, l.n);
+			else if(l.n > total / 2)
+				l.moveTo(total / 2, l.n - total / 2, r, 0);
+			else
+				r.moveTo(0, total / 2 - l.n, l, l.n);
+		}
+		if(right.n == 0)
+		{
+			branch.counts[i] += branch.counts[i + 1];
+			branch.remove(i + 1);
+		}
+		else
+		{
+			branch.counts[i] = count(left);
+			branch.counts[i + 1] = count(right);
+			branch.firsts[i + 1] = right.first();
+		}
+	}
+	
+	/**
+	 * Removes the first element equal to the given one.
+	 * Runs in O(log n) time
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean remove(Object o)
+	{
+		int index = indexOf((T) o);
+		if(index == -1)
+			return false;
+		remove(index);
+		return true;
+	}
+	
+	/**
+	 * Finds the index of the first element equal to a given one.
+	 * Runs in O(log n) time
+	 * @param e
+	 * The element to search for
+	 * @return
+	 * The index of the element, or -1 if it is not in the list
+	 */
+	public int indexOf(T e)
+	{
+		int index = lowerBound(e);
+		return (index < size && comparator.compare(get(index), e) == 0) ? index : -1;
+	}
+	
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean contains(Object o)
+	{
+		return indexOf((T) o) != -1;
+	}
+	
+	@Override
+	public boolean containsAll(Collection<?> c)
+	{
+		for(Object o : c)
+		{
+			if(!contains(o))
+				return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Removes every element matching a Predicate in a single
+	 * pass over the leaves, then rebuilds the tree
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean removeIf(Predicate<? super T> filter)
+	{
+		Objects.requireNonNull(filter);
+		T[] kept = (T[]) new Object[size];
+		int count = 0;
+		for(Leaf<T> leaf = head; leaf != null; leaf = leaf.next)
+		{
+			for(int i = 0; i < leaf.n; i++)
+			{
+				if(!filter.test(leaf.keys[i]))
+					kept[count++] = leaf.keys[i];
+			}
+		}
+		if(count == size)
+			return false;
+		build(kept, count);
+		return true;
+	}
+	
+	@Override
+	public boolean removeAll(Collection<?> c)
+	{
+		Objects.requireNonNull(c);
+		return removeIf(c::contains);
+	}
+	
+	@Override
+	public boolean retainAll(Collection<?> c)
+	{
+		Objects.requireNonNull(c);
+		return removeIf(e -> !c.contains(e));
+	}
+	
+	@Override
+	public void clear()
+	{
+		reset();
+		modCount++;
+	}
+	
+	/**
+	 * Copies the elements of the list, in order, to the start of an array
+	 * @param a
+	 * An array with room for size() elements
+	 */
+	private void copyTo(Object[] a)
+	{
+		int index = 0;
+		for(Leaf<T> leaf = head; leaf != null; leaf = leaf.next)
+		{
+			System.arraycopy(leaf.keys, 0, a, index, leaf.n);
+			index += leaf.n;
+		}
+	}
+	
+	@Override
+	public Object[] toArray()
+	{
+		Object[] a = new Object[size];
+		copyTo(a);
+		return a;
+	}
+	
+	@Override
+	public <A> A[] toArray(A[] a)
+	{
+		if(a.length < size)
+			a = Arrays.copyOf(a, size);
+		copyTo(a);
+		if(a.length > size)
+			a[size] = null;
+		return a;
+	}
+	
+	/**
+	 * Creates a fail-fast Iterator that walks the linked leaves
+	 * in sorted order; remove() is supported
+	 */
+	@Override
+	public Iterator<T> iterator()
+	{
+		return new Iterator<T>()
+		{
+			private Leaf<T> leaf = head;
+			private int position;
+			private int cursor;
+			private int lastReturned = -1;
+			private int expectedModCount = modCount;
+			
+			@Override
+			public boolean hasNext()
+			{
+				return cursor < size;
+			}
+			
+			@Override
+			public T next()
+			{
+				if(modCount != expectedModCount)
+					throw new ConcurrentModificationException();
+				if(cursor >= size)
+					throw new NoSuchElementException();
+				if(position == leaf.n)
+				{
+					leaf = leaf.next;
+					position = 0;
+				}
+				lastReturned = cursor++;
+				return leaf.keys[position++];
+			}
+			
+			@Override
+			public void remove()
+			{
+				if(lastReturned < 0)
+					throw new IllegalStateException();
+				if(modCount != expectedModCount)
+					throw new ConcurrentModificationException();
+				TreeSortedList.this.remove(lastReturned);
+				cursor = lastReturned;
+				lastReturned = -1;
+				expectedModCount = modCount;
+				// leaves may have merged or shifted; find the cursor again
+				seek(cursor);
+			}
+			
+			private void seek(int index)
+			{
+				Node<T> node = root;
+				while(node instanceof Branch)
+				{
+					Branch<T> branch = (Branch<T>) node;
+					int i = 0;
+					while(i < branch.n - 1 && index >= branch.counts[i])
+						index -= branch.counts[i++];
+					node = branch.children[i];
+				}
+				leaf = (Leaf<T>) node;
+				position = index;
+			}
+		};
+	}
+	
+	@Override
+	public String toString()
+	{
+		StringBuilder info = new StringBuilder((int) Math.min(size * 8L + 2, SortedList.MAX_CAPACITY));
+		info.append('[');
+		for(Leaf<T> leaf = head; leaf != null; leaf = leaf.next)
+		{
+			for(int i = 0; i < leaf.n; i++)
+			{
+				if(info.length() > 1)
+					info.append(", ");
+				info.append(leaf.keys[i]);
+			}
+		}
+		return info.append(']').toString();
+	}
+	
+	/**
+	 * Writes the order and the elements in sorted order; the
+	 * tree is rebuilt on reading
+	 * @serialData
+	 * The size, then each element in sorted order
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException
+	{
+		out.defaultWriteObject();
+		out.writeInt(size);
+		for(Leaf<T> leaf = head; leaf != null; leaf = leaf.next)
+		{
+			for(int i = 0; i < leaf.n; i++)
+				out.writeObject(leaf.keys[i]);
+		}
+	}
+	
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException
+	{
+		in.defaultReadObject();
+		int count = in.readInt();
+		if(count < 0 || count > SortedList.MAX_CAPACITY)
+			throw new InvalidObjectException("Invalid size: " + count);
+		T[] elements = (T[]) new Object[count];
+		for(int i = 0; i < count; i++)
+		{
+			elements[i] = (T) in.readObject();
+			if(i > 0 && comparator.compare(elements[i - 1], elements[i]) > 0)
+				throw new InvalidObjectException("Elements are not in sorted order");
+		}
+		build(elements, count);
+	}
+	
+	/**
+	 * A node of the tree
+	 */
+	private abstract static class Node<T>
+	{
+		/**
+		 * Number of elements (leaf) or children (branch)
+		 */
+		int n;
+		
+		/**
+		 * @return
+		 * The first element under this node
+		 */
+		abstract T first();
+	}
+	
+	/**
+	 * A leaf, holding up to LEAF_CAPACITY elements in sorted order
+	 * (one more while it is being split)
+	 */
+	private static final class Leaf<T> extends Node<T>
+	{
+		@SuppressWarnings("unchecked")
+		final T[] keys = (T[]) new Object[LEAF_CAPACITY + 1];
+		
+		Leaf<T> prev;
+		Leaf<T> next;
+		
+		@Override
+		T first()
+		{
+			return keys[0];
+		}
+	}
+	
+	/**
+	 * A branch, holding up to BRANCH_CAPACITY children (one more while
+	 * it is being split) with the first element and the element count
+	 * of each
+	 */
+	private static final class Branch<T> extends Node<T>
+	{
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		final Node<T>[] children = new Node[BRANCH_CAPACITY + 1];
+		
+		@SuppressWarnings("unchecked")
+		final T[] firsts = (T[]) new Object[BRANCH_CAPACITY + 1];
+		
+		final int[] counts = new int[BRANCH_CAPACITY + 1];
+		
+		@Override
+		T first()
+		{
+			return firsts[0];
+		}
+		
+		/**
+		 * Inserts a child at a given position
+		 */
+		void insert(int i, Node<T> child, int count)
+		{
+			System.arraycopy(children, i, children, i + 1, n - i);
+			System.arraycopy(firsts, i, firsts, i + 1, n - i);
+			System.arraycopy(counts, i, counts, i + 1, n - i);
+			children[i] = child;
+			firsts[i] = child.first();
+			counts[i] = count;
+			n++;
+		}
+		
+		/**
+		 * Removes the child at a given position
+		 */
+		void remove(int i)
+		{
+			n--;
+			System.arraycopy(children, i + 1, children, i, n - i);
+			System.arraycopy(firsts, i + 1, firsts, i, n - i);
+			System.arraycopy(counts, i + 1, counts, i, n - i);
+			children[n] = null;
+			firsts[n] = null;
+			counts[n] = 0;
+		}
+		
+		/**
+		 * Moves a run of children to another branch, which must be this
+		 * branch's right neighbour when moving to its front (at == 0)
+		 * or its left neighbour when moving from this branch's front
+		 */
+		void moveTo(int from, int length, Branch<T> other, int at)
+		{
+			System.arraycopy(other.children, at, other.children, at + length, other.n - at);
+			System.arraycopy(other.firsts, at, other.firsts, at + length, other.n - at);
+			System.arraycopy(other.counts, at, other.counts, at + length, other.n - at);
+			System.arraycopy(children, from, other.children, at, length);
+			System.arraycopy(firsts, from, other.firsts, at, length);
+			System.arraycopy(counts, from, other.counts, at, length);
+			other.n += length;
+			int rest = n - from - length;
+			System.arraycopy(children, from + length, children, from, rest);
+			System.arraycopy(firsts, from + length, firsts, from, rest);
+			System.arraycopy(counts, from + length, counts, from, rest);
+			Arrays.fill(children, n - length, n, null);
+			Arrays.fill(firsts, n - length, n, null);
+			Arrays.fill(counts, n - length, n, 0);
+			n -= length;
+		}
+	}
+}